@@ -2,6 +2,7 @@ package com.ftgo.notification;
 
 import com.ftgo.external.NotificationGateway;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -16,8 +17,22 @@ public class NotificationService {
     @Autowired
     private NotificationGateway notificationGateway;
 
+    /**
+     * Compiled once at startup (see MessageTemplate) instead of concatenating on every order.
+     * Override the text with ftgo.notification.templates.order-confirmed in application.properties.
+     */
+    private final MessageTemplate orderConfirmedTemplate;
+
+    public NotificationService(
+            @Value("${ftgo.notification.templates.order-confirmed:Hi {consumerName}, your order #{orderId} has been confirmed!}") String orderConfirmedText,
+            @Value("${ftgo.notification.templates.order-confirmed-version:1}") int orderConfirmedVersion,
+            @Value("${ftgo.notification.default-locale:en}") String locale) {
+        this.orderConfirmedTemplate = MessageTemplate.compile("order-confirmed", orderConfirmedVersion, locale,
+                orderConfirmedText, List.of("consumerName", "orderId"));
+    }
+
     public void sendOrderConfirmation(Long orderId, String consumerName, String consumerContact) {
-        String message = "Hi " + consumerName + ", your order #" + orderId + " has been confirmed!";
+        String message = orderConfirmedTemplate.render(consumerName, orderId);
         notificationGateway.send(consumerContact, message);
 
         Notification notification = new Notification();
@@ -1,8 +1,14 @@
 package com.ftgo.accounting;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 @RestController
 @RequestMapping("/api/payments")
 public class AccountingController {
@@ -10,20 +16,80 @@ public class AccountingController {
     @Autowired
     private AccountingService accountingService;
 
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
     /**
      * Authorize a payment. Called by the monolith's AccountingServiceClient.
+     * Idempotent per (orderId, attemptKey) — a repeat returns the existing payment.
+     * Async: the Tomcat thread is released while the gateway works (Servlet async).
+     * A risk decline is 422 with the FAILED payment (declineReason set) as the body.
      * POST /api/payments/authorize
      */
     @PostMapping("/authorize")
-    public Payment authorizePayment(@RequestBody PaymentRequest request) {
+    public CompletableFuture<ResponseEntity<Payment>> authorizePayment(@RequestBody PaymentRequest request) {
         return accountingService.authorizePayment(
-                request.getOrderId(),
-                request.getAmount(),
-                request.getPaymentMethod());
+                        request.getOrderId(),
+                        request.getConsumerId(),
+                        request.getRestaurantId(),
+                        request.getAmount(),
+                        request.getPaymentMethod(),
+                        request.getAttemptKey())
+                .thenApply(ResponseEntity::ok)
+                .exceptionally(e -> {
+                    // A risk decline is an answer, not an error: 422 + the FAILED payment
+                    Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+                    if (cause instanceof PaymentDeclinedException declined) {
+                        return ResponseEntity.unprocessableEntity().body(declined.getPayment());
+                    }
+                    throw e instanceof CompletionException completion ? completion : new CompletionException(e);
+                });
+    }
+
+    /**
+     * Authorize many payments in one call — results are returned in request order,
+     * each AUTHORIZED or FAILED.
+     * POST /api/payments/authorize/batch
+     */
+    @PostMapping("/authorize/batch")
+    public CompletableFuture<List<Payment>> authorizePayments(@RequestBody List<PaymentRequest> requests) {
+        return accountingService.authorizePayments(requests);
+    }
+
+    /**
+     * Keyset-paginated export sorted by (orderId, id), for reconciliation.
+     * GET /api/payments/export?afterOrderId=0&afterId=0&limit=5000
+     */
+    @GetMapping("/export")
+    public List<PaymentExportRow> exportPayments(@RequestParam(defaultValue = "0") long afterOrderId,
+                                                 @RequestParam(defaultValue = "0") long afterId,
+                                                 @RequestParam(defaultValue = "1000") int limit) {
+        return paymentRepository.exportPage(afterOrderId, afterId, PageRequest.ofSize(Math.max(1, Math.min(limit, 10_000))));
     }
 
     @GetMapping("/order/{orderId}")
     public Payment getPaymentByOrderId(@PathVariable Long orderId) {
         return accountingService.getPaymentByOrderId(orderId);
     }
+
+    /**
+     * Capture an authorized payment and post it to the ledger.
+     * POST /api/payments/order/{orderId}/capture
+     */
+    @PostMapping("/order/{orderId}/capture")
+    public Payment capturePayment(@PathVariable Long orderId) {
+        return ledgerService.capture(orderId);
+    }
+
+    /**
+     * Refund a captured payment — a reversing ledger posting, nothing is updated in place.
+     * POST /api/payments/order/{orderId}/refund
+     */
+    @PostMapping("/order/{orderId}/refund")
+    public Payment refundPayment(@PathVariable Long orderId) {
+        return ledgerService.refund(orderId);
+    }
 }
@@ -1,42 +1,207 @@
 package com.ftgo.accounting;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 
+/**
+ * IDEMPOTENT AUTHORIZATION:
+ *   Each authorization first INSERTs a PENDING payment for (orderId, attemptKey). The unique
+ *   constraint on those columns is the idempotency check — there is no read-then-write race:
+ *
+ *     first call   → INSERT succeeds        → charge gateway → AUTHORIZED / FAILED
+ *     repeat call  → INSERT violates uk     → return the existing payment, no charge
+ *     concurrent   → exactly one INSERT wins; the loser sees PENDING and is told to retry
+ *     after FAILED → the row is re-opened (conditional UPDATE back to PENDING) and charged again —
+ *                    unless risk rules declined it, which is final
+ *     stale PENDING → claimed longer than pending-lease ago — its owner died mid-charge, so the
+ *                    row is re-opened the same way instead of answering "retry shortly" forever
+ *
+ *   Re-opening is a compare-and-set, so concurrent retries still charge at most once at a time.
+ *   It bumps the payment's @Version: an owner that outlived its lease loses its final save
+ *   (optimistic lock failure) and returns what the new owner wrote instead of overwriting it.
+ *   The lease must outlast the longest authorization (gateway latency + batching); it defaults to
+ *   30s against a 10s request timeout.
+ *
+ *   This is what lets order-service put @Retry on authorizePayment() without double-charging.
+ *   When the caller sends no attemptKey, there is one attempt per order.
+ *
+ * NON-BLOCKING:
+ *   Authorizations return CompletableFutures. Only the short claim INSERT runs on the request
+ *   thread; while the gateway is working nothing waits, and the final UPDATE runs on the small
+ *   paymentPersistenceExecutor. Thousands of authorizations can be in flight per instance
+ *   without growing the Tomcat thread pool.
+ *
+ * RISK PRE-SCORING:
+ *   A newly claimed payment is scored by RiskScorer before the gateway sees it. A declined one is
+ *   marked FAILED with a declineReason on the spot — it costs one UPDATE instead of a gateway
+ *   round trip, and a retry of the same attempt gets the same FAILED payment back. The caller
+ *   sees 422 with that payment as the body (PaymentDeclinedException), not a 500.
+ */
+@Slf4j
 @Service
 public class AccountingService {
 
+    private static final String DEFAULT_ATTEMPT_KEY = "default";
+
+    private record Claim(Payment payment, boolean created) {}
+
     @Autowired
     private PaymentRepository paymentRepository;
 
     @Autowired
-    private PaymentGateway paymentGateway;
+    private PaymentBatcher paymentBatcher;
+
+    @Autowired
+    private ExecutorService paymentPersistenceExecutor;
+
+    @Autowired
+    private RiskScorer riskScorer;
+
+    @Value("${ftgo.payments.pending-lease:30s}")
+    private Duration pendingLease;
+
+    /**
+     * Single authorization. The gateway call goes through PaymentBatcher, so concurrent
+     * requests share one batch round trip instead of each paying the full provider latency.
+     * Completes exceptionally with PaymentDeclinedException if risk rules declined it, and with
+     * RuntimeException if the charge FAILED or is still PENDING elsewhere.
+     */
+    public CompletableFuture<Payment> authorizePayment(Long orderId, Long consumerId, Long restaurantId, BigDecimal amount,
+                                                       String paymentMethod, String attemptKey) {
+        Claim claim = claim(orderId, consumerId, restaurantId, amount, paymentMethod, attemptKey);
+        CompletableFuture<Payment> payment = claim.created()
+                ? charge(claim.payment())
+                : CompletableFuture.completedFuture(claim.payment());
+
+        return payment.thenApply(p -> switch (p.getStatus()) {
+            case PENDING -> throw new RuntimeException("Payment for order " + orderId + " is already being authorized — retry shortly");
+            case FAILED -> throw p.getDeclineReason() != null
+                    ? new PaymentDeclinedException(p)
+                    : new RuntimeException("Payment authorization failed for order: " + orderId);
+            default -> p;
+        });
+    }
+
+    /**
+     * Batch authorization — one result per request, in request order. A failed charge comes
+     * back as a FAILED Payment instead of failing the whole batch; repeats return the existing payment.
+     */
+    public CompletableFuture<List<Payment>> authorizePayments(List<PaymentRequest> requests) {
+        List<CompletableFuture<Payment>> payments = new ArrayList<>(requests.size());
+        for (PaymentRequest request : requests) {
+            Claim claim = claim(request.getOrderId(), request.getConsumerId(), request.getRestaurantId(),
+                    request.getAmount(), request.getPaymentMethod(), request.getAttemptKey());
+            payments.add(claim.created()
+                    ? charge(claim.payment())
+                    : CompletableFuture.completedFuture(claim.payment()));
+        }
+        return CompletableFuture.allOf(payments.toArray(new CompletableFuture[0]))
+                .thenApply(done -> payments.stream().map(CompletableFuture::join).toList());
+    }
+
+    public Payment getPaymentByOrderId(Long orderId) {
+        return paymentRepository.findFirstByOrderIdOrderByIdDesc(orderId)
+                .orElseThrow(() -> new RuntimeException("Payment not found for order: " + orderId));
+    }
 
-    public Payment authorizePayment(Long orderId, BigDecimal amount, String paymentMethod) {
-        PaymentGateway.PaymentResult result = paymentGateway.charge(amount, paymentMethod);
+    /**
+     * INSERT the PENDING row; if (orderId, attemptKey) already exists, hand back that payment instead.
+     */
+    private Claim claim(Long orderId, Long consumerId, Long restaurantId, BigDecimal amount, String paymentMethod,
+                        String attemptKey) {
+        String key = attemptKey == null || attemptKey.isBlank() ? DEFAULT_ATTEMPT_KEY : attemptKey;
 
         Payment payment = new Payment();
         payment.setOrderId(orderId);
+        payment.setConsumerId(consumerId);
+        payment.setRestaurantId(restaurantId);
+        payment.setAttemptKey(key);
         payment.setAmount(amount);
         payment.setPaymentMethod(paymentMethod);
-        payment.setCreatedAt(LocalDateTime.now());
+        LocalDateTime now = LocalDateTime.now();
+        payment.setStatus(PaymentStatus.PENDING);
+        payment.setCreatedAt(now);
+        payment.setClaimedAt(now);
+        try {
+            return new Claim(paymentRepository.saveAndFlush(payment), true);
+        } catch (DataIntegrityViolationException e) {
+            Payment existing = paymentRepository.findByOrderIdAndAttemptKey(orderId, key)
+                    .orElseThrow(() -> e);
+            if (reclaimable(existing, now)
+                    && paymentRepository.reclaim(existing.getId(), now, now.minus(pendingLease)) == 1) {
+                log.info(">>> Re-opening {} payment #{} for order #{} (attempt '{}')",
+                        existing.getStatus(), existing.getId(), orderId, key);
+                existing.setStatus(PaymentStatus.PENDING);
+                existing.setClaimedAt(now);
+                existing.setTransactionId(null);
+                existing.setVersion(existing.getVersion() + 1);
+                return new Claim(existing, true);
+            }
+            log.info(">>> Repeated authorization for order #{} (attempt '{}') — returning payment #{} ({})",
+                    orderId, key, existing.getId(), existing.getStatus());
+            return new Claim(existing, false);
+        }
+    }
 
-        if (result.success()) {
-            payment.setStatus(PaymentStatus.AUTHORIZED);
-            payment.setTransactionId(result.transactionId());
-            return paymentRepository.save(payment);
-        } else {
+    private boolean reclaimable(Payment payment, LocalDateTime now) {
+        return (payment.getStatus() == PaymentStatus.FAILED && payment.getDeclineReason() == null)
+                || (payment.getStatus() == PaymentStatus.PENDING
+                    && (payment.getClaimedAt() == null || payment.getClaimedAt().isBefore(now.minus(pendingLease))));
+    }
+
+    /**
+     * Risk check first; only payments that pass are submitted to the gateway.
+     */
+    private CompletableFuture<Payment> charge(Payment payment) {
+        RiskScorer.RiskDecision risk = riskScorer.score(payment.getConsumerId(), payment.getPaymentMethod(), payment.getAmount());
+        if (risk.declined()) {
+            log.warn(">>> Payment for order #{} declined by risk rules {} (score {})",
+                    payment.getOrderId(), risk.trippedRules(), risk.score());
             payment.setStatus(PaymentStatus.FAILED);
-            paymentRepository.save(payment);
-            throw new RuntimeException("Payment authorization failed for order: " + orderId);
+            payment.setDeclineReason("risk:" + String.join(",", risk.trippedRules()));
+            return CompletableFuture.completedFuture(saveIfStillClaimed(payment));
         }
+        return complete(payment, paymentBatcher.submit(payment.getAmount(), payment.getPaymentMethod()));
     }
 
-    public Payment getPaymentByOrderId(Long orderId) {
-        return paymentRepository.findByOrderId(orderId)
-                .orElseThrow(() -> new RuntimeException("Payment not found for order: " + orderId));
+    private CompletableFuture<Payment> complete(Payment payment, CompletableFuture<PaymentGateway.PaymentResult> charge) {
+        return charge
+                .exceptionally(e -> new PaymentGateway.PaymentResult(false, null))
+                .thenApplyAsync(result -> {
+                    if (result.success()) {
+                        payment.setStatus(PaymentStatus.AUTHORIZED);
+                        payment.setTransactionId(result.transactionId());
+                    } else {
+                        payment.setStatus(PaymentStatus.FAILED);
+                    }
+                    return saveIfStillClaimed(payment);
+                }, paymentPersistenceExecutor);
+    }
+
+    /**
+     * Saves the outcome unless the claim was lost — the lease expired and another caller
+     * re-opened the payment. Then that caller's state is returned and this outcome is dropped.
+     */
+    private Payment saveIfStillClaimed(Payment payment) {
+        try {
+            return paymentRepository.save(payment);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            Payment current = paymentRepository.findById(payment.getId()).orElseThrow(() -> e);
+            log.warn(">>> Payment #{} for order #{} was re-claimed while being charged — keeping its {} state, dropping {}",
+                    payment.getId(), payment.getOrderId(), current.getStatus(), payment.getStatus());
+            return current;
+        }
     }
 }
@@ -2,6 +2,7 @@ package com.ftgo.accounting;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * FTGO Accounting Service — Extracted Microservice
@@ -10,8 +11,12 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * It exposes a REST API for authorizing payments and querying payment status.
  *
  * The monolith calls this service via REST, protected by a Circuit Breaker (Resilience4j).
+ *
+ * Captures, refunds and settlements are recorded in an append-only double-entry ledger
+ * (LedgerService); restaurant balances are served from in-memory running totals.
  */
 @SpringBootApplication
+@EnableScheduling
 public class AccountingServiceApplication {
 
     public static void main(String[] args) {
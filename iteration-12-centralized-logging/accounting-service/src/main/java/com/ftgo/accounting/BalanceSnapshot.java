@@ -0,0 +1,22 @@
+package com.ftgo.accounting;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Periodic copy of one account's in-memory running balance. lastEntryId is the ledger watermark
+ * the balance includes, so a restart loads snapshots and replays only entries after it.
+ */
+@Entity
+@Table(name = "balance_snapshot")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class BalanceSnapshot {
+    @Id
+    private String account;
+    private BigDecimal balance;
+    private Long lastEntryId;
+    private LocalDateTime takenAt;
+}
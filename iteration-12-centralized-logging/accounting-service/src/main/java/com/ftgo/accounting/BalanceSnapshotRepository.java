@@ -0,0 +1,6 @@
+package com.ftgo.accounting;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface BalanceSnapshotRepository extends JpaRepository<BalanceSnapshot, String> {
+}
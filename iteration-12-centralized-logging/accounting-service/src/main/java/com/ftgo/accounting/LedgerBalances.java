@@ -0,0 +1,100 @@
+package com.ftgo.accounting;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * In-memory running balance per ledger account — balance queries never touch the ledger table.
+ *
+ *   startup:   load balance_snapshot rows → replay ledger entries with id > snapshot watermark
+ *   runtime:   LedgerWriter applies each committed flush (apply())
+ *   periodic:  snapshot() writes every balance + the watermark, so the next replay is short
+ *
+ * Balances and the watermark change together under one lock, so a snapshot is always
+ * consistent with a single ledger position. Assumes one writer instance per ledger.
+ */
+@Slf4j
+@Component
+public class LedgerBalances {
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private BalanceSnapshotRepository balanceSnapshotRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final Object lock = new Object();
+    private final Map<String, BigDecimal> balances = new HashMap<>();
+    private long lastEntryId;
+
+    @PostConstruct
+    public void load() {
+        transactionTemplate.executeWithoutResult(status -> {
+            long watermark = Long.MAX_VALUE;
+            for (BalanceSnapshot snapshot : balanceSnapshotRepository.findAll()) {
+                balances.put(snapshot.getAccount(), snapshot.getBalance());
+                watermark = Math.min(watermark, snapshot.getLastEntryId());
+            }
+            lastEntryId = watermark == Long.MAX_VALUE ? 0 : watermark;
+
+            int replayed = 0;
+            try (Stream<LedgerLine> lines = ledgerEntryRepository.streamAfter(lastEntryId)) {
+                for (LedgerLine line : (Iterable<LedgerLine>) lines::iterator) {
+                    balances.merge(line.account(), line.signedAmount(), BigDecimal::add);
+                    lastEntryId = line.id();
+                    replayed++;
+                }
+            }
+            log.info(">>> Ledger balances loaded: {} account(s), {} entries replayed, watermark {}",
+                    balances.size(), replayed, lastEntryId);
+        });
+    }
+
+    /**
+     * Called by LedgerWriter after a flush commits. Entries arrive in id order.
+     */
+    void apply(List<LedgerEntry> entries) {
+        synchronized (lock) {
+            for (LedgerEntry entry : entries) {
+                balances.merge(entry.getAccount(), entry.signedAmount(), BigDecimal::add);
+                lastEntryId = Math.max(lastEntryId, entry.getId());
+            }
+        }
+    }
+
+    public BigDecimal balanceOf(String account) {
+        synchronized (lock) {
+            return balances.getOrDefault(account, BigDecimal.ZERO);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ftgo.ledger.snapshot-interval-ms:300000}")
+    public void snapshot() {
+        List<BalanceSnapshot> snapshots = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (lock) {
+            for (Map.Entry<String, BigDecimal> balance : balances.entrySet()) {
+                snapshots.add(new BalanceSnapshot(balance.getKey(), balance.getValue(), lastEntryId, now));
+            }
+        }
+        if (!snapshots.isEmpty()) {
+            balanceSnapshotRepository.saveAll(snapshots);
+            log.info(">>> Snapshotted {} ledger balance(s)", snapshots.size());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.ftgo.accounting;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/ledger")
+public class LedgerController {
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private SettlementJob settlementJob;
+
+    /**
+     * Amount currently owed to a restaurant — served from the in-memory running balance.
+     * GET /api/ledger/restaurants/{restaurantId}/balance
+     */
+    @GetMapping("/restaurants/{restaurantId}/balance")
+    public Map<String, Object> getRestaurantBalance(@PathVariable Long restaurantId) {
+        BigDecimal balance = ledgerService.restaurantBalance(restaurantId);
+        return Map.of("restaurantId", restaurantId, "balance", balance);
+    }
+
+    /**
+     * Run (or re-run) settlement for one day. Idempotent per day and restaurant.
+     * POST /api/ledger/settlements/2024-01-31
+     */
+    @PostMapping("/settlements/{day}")
+    public Map<String, Object> settle(@PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate day) {
+        return Map.of("day", day.toString(), "restaurantsSettled", settlementJob.settle(day));
+    }
+}
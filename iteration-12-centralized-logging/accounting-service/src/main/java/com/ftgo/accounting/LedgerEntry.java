@@ -0,0 +1,63 @@
+package com.ftgo.accounting;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One line of the double-entry ledger. APPEND-ONLY: rows are inserted, never updated or
+ * deleted (@Immutable makes Hibernate ignore any change). A correction is a new, reversing entry.
+ *
+ * Every posting is a balanced pair sharing a transactionRef, e.g. capturing Rs.500 for order #42:
+ *
+ *   capture:42   DEBIT   platform:clearing   500
+ *   capture:42   CREDIT  restaurant:7        500
+ *
+ * Balance convention: credits − debits, so restaurant:<id> is what we owe that restaurant.
+ * (transactionRef, direction) is unique — one posting per reference, however often it is attempted.
+ */
+@Entity
+@Immutable
+@Table(name = "ledger_entry", indexes = {
+        @Index(name = "idx_ledger_entry_created_at", columnList = "createdAt"),
+        @Index(name = "idx_ledger_entry_ref", columnList = "transactionRef")
+}, uniqueConstraints = @UniqueConstraint(name = "uk_ledger_entry_ref_direction",
+        columnNames = {"transactionRef", "direction"}))
+@Getter @NoArgsConstructor @AllArgsConstructor @ToString
+public class LedgerEntry {
+    /** Pooled sequence so a flush of many entries becomes JDBC batches; ids also give the replay order. */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ledger_entry_seq")
+    @SequenceGenerator(name = "ledger_entry_seq", sequenceName = "ledger_entry_seq", allocationSize = 50)
+    private Long id;
+    private String transactionRef;
+    private Long orderId;
+    private String account;
+
+    @Enumerated(EnumType.STRING)
+    private LedgerEntryType type;
+
+    @Enumerated(EnumType.STRING)
+    private LedgerDirection direction;
+
+    private BigDecimal amount;
+    private LocalDateTime createdAt;
+
+    public static LedgerEntry of(String transactionRef, Long orderId, String account, LedgerEntryType type,
+                                 LedgerDirection direction, BigDecimal amount, LocalDateTime createdAt) {
+        return new LedgerEntry(null, transactionRef, orderId, account, type, direction, amount, createdAt);
+    }
+
+    /** A copy without the generated id, to be inserted again. */
+    LedgerEntry unsaved() {
+        return of(transactionRef, orderId, account, type, direction, amount, createdAt);
+    }
+
+    /** This entry's effect on its account's balance (credits − debits). */
+    public BigDecimal signedAmount() {
+        return direction == LedgerDirection.CREDIT ? amount : amount.negate();
+    }
+}
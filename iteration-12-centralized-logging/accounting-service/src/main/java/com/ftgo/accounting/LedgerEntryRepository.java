@@ -0,0 +1,31 @@
+package com.ftgo.accounting;
+
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, Long> {
+
+    boolean existsByTransactionRef(String transactionRef);
+
+    /** Startup replay after the latest balance snapshot. Must be consumed inside a transaction. */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.ftgo.accounting.LedgerLine(e.id, e.account, e.direction, e.amount) "
+            + "from LedgerEntry e where e.id > :afterId order by e.id")
+    Stream<LedgerLine> streamAfter(@Param("afterId") long afterId);
+
+    /** One day's restaurant postings for settlement. Must be consumed inside a transaction. */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.ftgo.accounting.LedgerLine(e.id, e.account, e.direction, e.amount) "
+            + "from LedgerEntry e where e.createdAt >= :from and e.createdAt < :to "
+            + "and e.account like 'restaurant:%' and e.type <> com.ftgo.accounting.LedgerEntryType.SETTLEMENT "
+            + "order by e.id")
+    Stream<LedgerLine> streamRestaurantPostings(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
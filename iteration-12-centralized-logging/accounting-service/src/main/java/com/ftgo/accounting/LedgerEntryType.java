@@ -0,0 +1,5 @@
+package com.ftgo.accounting;
+
+public enum LedgerEntryType {
+    CAPTURE, REFUND, SETTLEMENT
+}
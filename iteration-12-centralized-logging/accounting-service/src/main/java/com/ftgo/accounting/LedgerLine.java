@@ -0,0 +1,18 @@
+package com.ftgo.accounting;
+
+import java.math.BigDecimal;
+
+/**
+ * Read-only projection of a ledger entry for streaming jobs — not a managed entity, so
+ * streaming millions of them doesn't fill the persistence context.
+ */
+public record LedgerLine(
+    Long id,
+    String account,
+    LedgerDirection direction,
+    BigDecimal amount
+) {
+    public BigDecimal signedAmount() {
+        return direction == LedgerDirection.CREDIT ? amount : amount.negate();
+    }
+}
@@ -0,0 +1,100 @@
+package com.ftgo.accounting;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Capture / refund / settlement postings on the append-only ledger.
+ *
+ * Accounts:
+ *   platform:clearing   money collected from consumers via the payment provider
+ *   restaurant:<id>     what we owe the restaurant (credited on capture, debited on payout)
+ *   platform:payouts    money paid out to restaurants at settlement
+ *
+ * A payment moves AUTHORIZED → CHARGED → REFUNDED with a conditional UPDATE, so only the caller
+ * that wins the transition writes the ledger entries — a double capture cannot double-post.
+ * The UPDATE is the posting's guard in LedgerWriter: it commits in the SAME transaction as the
+ * entries, so a payment is never CHARGED without its capture posting (or the other way round).
+ */
+@Slf4j
+@Service
+public class LedgerService {
+
+    public static final String CLEARING = "platform:clearing";
+    public static final String PAYOUTS = "platform:payouts";
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private LedgerWriter ledgerWriter;
+
+    @Autowired
+    private LedgerBalances ledgerBalances;
+
+    public static String restaurantAccount(Long restaurantId) {
+        return "restaurant:" + restaurantId;
+    }
+
+    public Payment capture(Long orderId) {
+        Payment payment = findPayment(orderId);
+        post("capture:" + orderId, orderId, LedgerEntryType.CAPTURE,
+                CLEARING, restaurantAccount(payment.getRestaurantId()), payment.getAmount(),
+                () -> transition(payment, PaymentStatus.AUTHORIZED, PaymentStatus.CHARGED));
+        payment.setStatus(PaymentStatus.CHARGED);
+        return payment;
+    }
+
+    public Payment refund(Long orderId) {
+        Payment payment = findPayment(orderId);
+        post("refund:" + orderId, orderId, LedgerEntryType.REFUND,
+                restaurantAccount(payment.getRestaurantId()), CLEARING, payment.getAmount(),
+                () -> transition(payment, PaymentStatus.CHARGED, PaymentStatus.REFUNDED));
+        payment.setStatus(PaymentStatus.REFUNDED);
+        return payment;
+    }
+
+    /**
+     * Pays a restaurant its settled amount: DEBIT restaurant:<id>, CREDIT platform:payouts.
+     * Throws DataIntegrityViolationException if {@code transactionRef} was already posted.
+     */
+    void postSettlement(String transactionRef, String restaurantAccount, BigDecimal amount) {
+        post(transactionRef, null, LedgerEntryType.SETTLEMENT, restaurantAccount, PAYOUTS, amount, null);
+    }
+
+    public BigDecimal restaurantBalance(Long restaurantId) {
+        return ledgerBalances.balanceOf(restaurantAccount(restaurantId));
+    }
+
+    private Payment findPayment(Long orderId) {
+        return paymentRepository.findFirstByOrderIdOrderByIdDesc(orderId)
+                .orElseThrow(() -> new RuntimeException("Payment not found for order: " + orderId));
+    }
+
+    private void transition(Payment payment, PaymentStatus from, PaymentStatus to) {
+        if (paymentRepository.transition(payment.getId(), from, to) == 0) {
+            throw new RuntimeException("Payment for order " + payment.getOrderId() + " is " + payment.getStatus()
+                    + ", expected " + from);
+        }
+    }
+
+    private void post(String transactionRef, Long orderId, LedgerEntryType type,
+                      String debitAccount, String creditAccount, BigDecimal amount, Runnable guard) {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            ledgerWriter.append(List.of(
+                    LedgerEntry.of(transactionRef, orderId, debitAccount, type, LedgerDirection.DEBIT, amount, now),
+                    LedgerEntry.of(transactionRef, orderId, creditAccount, type, LedgerDirection.CREDIT, amount, now)
+            ), guard).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        log.info(">>> Ledger {}: DEBIT {} / CREDIT {} Rs.{}", transactionRef, debitAccount, creditAccount, amount);
+    }
+}
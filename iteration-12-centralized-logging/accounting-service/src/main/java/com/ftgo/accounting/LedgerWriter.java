@@ -0,0 +1,160 @@
+package com.ftgo.accounting;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sequential, batched appends to the ledger.
+ *
+ * Postings from all request threads are queued and written by ONE flush at a time, in one
+ * transaction, when either batch-size entries are waiting or flush-interval-ms has passed.
+ * With sequence ids + hibernate.jdbc.batch_size that is a handful of JDBC batches per flush,
+ * and entry ids grow strictly in commit order — which LedgerBalances relies on for its watermark.
+ *
+ * append() returns a future that completes only after the entries are committed AND applied to
+ * the in-memory balances, so callers never report a posting that could still be lost. A posting may
+ * carry a guard — e.g. the payment status CAS of a capture — that runs in the same transaction,
+ * so the state change and its ledger entries are never committed one without the other. If a
+ * batch violates a constraint, its postings are retried one per transaction: only the offending
+ * posting fails.
+ *
+ * The interval flush runs on the writer's OWN "ledger-writer" thread, not on Spring's shared
+ * scheduler: callers (SettlementJob among them) block on that future from @Scheduled tasks,
+ * which would otherwise wait forever for a flush queued behind themselves.
+ */
+@Slf4j
+@Component
+public class LedgerWriter {
+
+    private record PendingPosting(List<LedgerEntry> entries, Runnable guard, CompletableFuture<Void> committed) {}
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private LedgerBalances ledgerBalances;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+    private final ScheduledExecutorService flusher;
+
+    private final Object lock = new Object();
+    private final Object flushLock = new Object();
+    private List<PendingPosting> buffer = new ArrayList<>();
+    private int bufferedEntries;
+
+    public LedgerWriter(@Value("${ftgo.ledger.writer.batch-size:200}") int batchSize,
+                        @Value("${ftgo.ledger.writer.flush-interval-ms:50}") long flushIntervalMs) {
+        this.batchSize = batchSize;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "ledger-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public CompletableFuture<Void> append(List<LedgerEntry> entries) {
+        return append(entries, null);
+    }
+
+    /**
+     * Like {@link #append(List)}, but runs {@code guard} inside the flush transaction right before
+     * the entries are written — its writes commit or roll back together with them. A guard that
+     * throws rejects this posting only; the exception completes its future.
+     */
+    public CompletableFuture<Void> append(List<LedgerEntry> entries, Runnable guard) {
+        PendingPosting posting = new PendingPosting(entries, guard, new CompletableFuture<>());
+        boolean full;
+        synchronized (lock) {
+            buffer.add(posting);
+            bufferedEntries += entries.size();
+            full = bufferedEntries >= batchSize;
+        }
+        if (full) {
+            flush();
+        }
+        return posting.committed();
+    }
+
+    public void flush() {
+        synchronized (flushLock) {
+            List<PendingPosting> batch;
+            synchronized (lock) {
+                if (buffer.isEmpty()) {
+                    return;
+                }
+                batch = buffer;
+                buffer = new ArrayList<>();
+                bufferedEntries = 0;
+            }
+
+            try {
+                commit(batch);
+            } catch (DataIntegrityViolationException e) {
+                // One posting broke a constraint (e.g. a settlement another replica already wrote) —
+                // the whole batch rolled back, so write each posting alone and fail only that one
+                log.warn(">>> Ledger flush of {} postings hit a constraint, retrying one by one: {}",
+                        batch.size(), e.getMessage());
+                for (PendingPosting posting : batch) {
+                    try {
+                        commit(List.of(posting));
+                    } catch (RuntimeException single) {
+                        posting.committed().completeExceptionally(single);
+                    }
+                }
+            } catch (RuntimeException e) {
+                log.error(">>> Ledger flush of {} postings failed: {}", batch.size(), e.getMessage());
+                batch.forEach(posting -> posting.committed().completeExceptionally(e));
+            }
+        }
+    }
+
+    /** Writes the still-pending postings of {@code batch} in one transaction, then completes them. */
+    private void commit(List<PendingPosting> batch) {
+        List<PendingPosting> accepted = new ArrayList<>();
+        List<LedgerEntry> saved = transactionTemplate.execute(status -> {
+            List<LedgerEntry> entries = new ArrayList<>();
+            for (PendingPosting posting : batch) {
+                if (posting.committed().isDone()) {
+                    continue;
+                }
+                if (posting.guard() != null) {
+                    try {
+                        posting.guard().run();
+                    } catch (RuntimeException e) {
+                        posting.committed().completeExceptionally(e);
+                        continue;
+                    }
+                }
+                accepted.add(posting);
+                // fresh instances: a rolled-back attempt has already assigned ids to the originals
+                posting.entries().forEach(entry -> entries.add(entry.unsaved()));
+            }
+            return ledgerEntryRepository.saveAllAndFlush(entries);
+        });
+        ledgerBalances.apply(saved);
+        accepted.forEach(posting -> posting.committed().complete(null));
+        log.debug(">>> Appended {} ledger entries", saved.size());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        flush();
+    }
+}
@@ -1,23 +1,45 @@
 package com.ftgo.accounting;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
+/**
+ * Non-blocking mock Stripe: latency and failures come from PaymentGatewaySimulator, and the
+ * batch API authorizes a whole batch in one simulated round trip.
+ */
 @Slf4j
 @Service
 public class MockStripePaymentGateway implements PaymentGateway {
 
+    @Autowired
+    private PaymentGatewaySimulator simulator;
+
     @Override
     public PaymentResult charge(BigDecimal amount, String paymentMethod) {
-        log.info(">>> Mock Stripe: Charging Rs.{} via {}", amount, paymentMethod);
-        try {
-            Thread.sleep(500);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-        return new PaymentResult(true, "stripe_txn_" + UUID.randomUUID().toString().substring(0, 8));
+        return chargeBatchAsync(List.of(new ChargeRequest(amount, paymentMethod))).join().get(0);
+    }
+
+    @Override
+    public List<PaymentResult> chargeBatch(List<ChargeRequest> requests) {
+        return chargeBatchAsync(requests).join();
+    }
+
+    @Override
+    public CompletableFuture<List<PaymentResult>> chargeBatchAsync(List<ChargeRequest> requests) {
+        log.info(">>> Mock Stripe: Batch-authorizing {} charge(s)", requests.size());
+        return simulator.respond(() -> {
+            List<PaymentResult> results = new ArrayList<>(requests.size());
+            for (int i = 0; i < requests.size(); i++) {
+                results.add(new PaymentResult(true, "stripe_txn_" + UUID.randomUUID().toString().substring(0, 8)));
+            }
+            return results;
+        });
     }
 }
@@ -6,13 +6,24 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "payment")
+@Table(name = "payment",
+        uniqueConstraints = @UniqueConstraint(name = "uk_payment_order_attempt", columnNames = {"orderId", "attemptKey"}))
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor
 public class Payment {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     private Long orderId;
+    private Long consumerId;
+
+    /** Whose ledger account a capture credits (see LedgerService). */
+    private Long restaurantId;
+
+    /**
+     * Idempotency key of the authorization attempt. The unique (orderId, attemptKey) constraint
+     * makes a repeated authorize return the existing payment instead of charging twice.
+     */
+    private String attemptKey;
     private BigDecimal amount;
     private String paymentMethod;
 
@@ -20,5 +31,18 @@ public class Payment {
     private PaymentStatus status;
 
     private String transactionId;
+
+    /** Why a FAILED payment never reached the gateway, e.g. "risk:consumer-burst". */
+    private String declineReason;
     private LocalDateTime createdAt;
+
+    /** When the current attempt was claimed — a PENDING row older than the lease may be re-claimed. */
+    private LocalDateTime claimedAt;
+
+    /**
+     * Bumped by every write, bulk UPDATEs included — an owner whose lease expired and was
+     * re-claimed fails its final save instead of overwriting the new owner's result.
+     */
+    @Version
+    private long version;
 }
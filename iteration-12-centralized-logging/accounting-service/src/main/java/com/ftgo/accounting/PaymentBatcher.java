@@ -0,0 +1,129 @@
+package com.ftgo.accounting;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Server-side micro-batcher for payment authorizations.
+ *
+ * Before: every request thread made its own 500ms gateway call.
+ * After: concurrent authorizations are gathered for up to linger-ms (or until max-size), then
+ * sent as ONE PaymentGateway.chargeBatch() call. Each caller still gets its own result:
+ *
+ *   thread A ─┐
+ *   thread B ─┼─▶ [A, B, C]  ──▶ chargeBatch()  ──▶ A ✓  B ✓  C ✓
+ *   thread C ─┘   (≤ 5ms)         (~500ms)
+ *
+ * A lone request pays at most linger-ms extra. Batches go out via chargeBatchAsync(), so a
+ * batch at the provider holds no thread; up to max-in-flight batches may be outstanding, and
+ * the collector keeps gathering the next batch meanwhile.
+ */
+@Slf4j
+@Component
+public class PaymentBatcher {
+
+    private record PendingCharge(PaymentGateway.ChargeRequest request,
+                                 CompletableFuture<PaymentGateway.PaymentResult> result) {}
+
+    private final PaymentGateway paymentGateway;
+    private final int maxBatchSize;
+    private final long lingerNanos;
+
+    private final BlockingQueue<PendingCharge> queue = new LinkedBlockingQueue<>();
+    private final Semaphore inFlight;
+    private final Thread collector;
+    private volatile boolean running = true;
+
+    public PaymentBatcher(PaymentGateway paymentGateway,
+                          @Value("${ftgo.payments.batch.max-size:50}") int maxBatchSize,
+                          @Value("${ftgo.payments.batch.linger-ms:5}") long lingerMs,
+                          @Value("${ftgo.payments.batch.max-in-flight:8}") int maxInFlight) {
+        this.paymentGateway = paymentGateway;
+        this.maxBatchSize = maxBatchSize;
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMs);
+        // When max-in-flight batches are outstanding the collector waits for a permit before
+        // sending the next one — requests keep queueing, the provider is not flooded.
+        this.inFlight = new Semaphore(maxInFlight);
+        this.collector = new Thread(this::collect, "payment-batch-collector");
+        this.collector.setDaemon(true);
+        this.collector.start();
+    }
+
+    public CompletableFuture<PaymentGateway.PaymentResult> submit(BigDecimal amount, String paymentMethod) {
+        CompletableFuture<PaymentGateway.PaymentResult> result = new CompletableFuture<>();
+        queue.add(new PendingCharge(new PaymentGateway.ChargeRequest(amount, paymentMethod), result));
+        return result;
+    }
+
+    private void collect() {
+        while (running) {
+            try {
+                PendingCharge first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<PendingCharge> batch = new ArrayList<>(maxBatchSize);
+                batch.add(first);
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingCharge next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                inFlight.acquire();
+                charge(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void charge(List<PendingCharge> batch) {
+        List<PaymentGateway.ChargeRequest> requests = new ArrayList<>(batch.size());
+        for (PendingCharge pending : batch) {
+            requests.add(pending.request());
+        }
+        CompletableFuture<List<PaymentGateway.PaymentResult>> results;
+        try {
+            results = paymentGateway.chargeBatchAsync(requests);
+        } catch (RuntimeException e) {
+            results = CompletableFuture.failedFuture(e);
+        }
+        results.whenComplete((charged, error) -> {
+            inFlight.release();
+            if (error != null) {
+                log.error(">>> Batch of {} charge(s) failed: {}", batch.size(), error.getMessage());
+                for (PendingCharge pending : batch) {
+                    pending.result().completeExceptionally(error);
+                }
+                return;
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(charged.get(i));
+            }
+            log.info(">>> Authorized batch of {} charge(s)", batch.size());
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        collector.interrupt();
+        collector.join(1000);
+        PendingCharge pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result().completeExceptionally(new RuntimeException("Payment batcher shut down"));
+        }
+    }
+}
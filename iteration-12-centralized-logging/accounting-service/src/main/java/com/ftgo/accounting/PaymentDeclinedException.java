@@ -0,0 +1,19 @@
+package com.ftgo.accounting;
+
+import lombok.Getter;
+
+/**
+ * An authorization declined by the risk rules. That is a final answer for this attempt, not a
+ * failure of the service — AccountingController returns it as 422 with the FAILED payment
+ * (declineReason included) as the body, so callers do not retry it or count it as an outage.
+ */
+@Getter
+public class PaymentDeclinedException extends RuntimeException {
+
+    private final Payment payment;
+
+    public PaymentDeclinedException(Payment payment) {
+        super("Payment declined for order " + payment.getOrderId() + " (" + payment.getDeclineReason() + ")");
+        this.payment = payment;
+    }
+}
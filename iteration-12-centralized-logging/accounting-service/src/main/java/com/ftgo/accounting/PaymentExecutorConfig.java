@@ -0,0 +1,24 @@
+package com.ftgo.accounting;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Small, fixed pool for the blocking JDBC work that follows an async gateway response.
+ * Gateway callbacks complete on the simulator's timer thread, which must never block on the DB.
+ * Size it like the connection pool, not like the number of concurrent authorizations.
+ */
+@Configuration
+public class PaymentExecutorConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService paymentPersistenceExecutor(@Value("${ftgo.payments.persistence-threads:8}") int threads) {
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, r -> new Thread(r, "payment-persist-" + count.incrementAndGet()));
+    }
+}
@@ -0,0 +1,15 @@
+package com.ftgo.accounting;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One row of GET /api/payments/export — just what reconciliation needs, no entity loading.
+ */
+public record PaymentExportRow(
+    Long id,
+    Long orderId,
+    PaymentStatus status,
+    BigDecimal amount,
+    LocalDateTime createdAt
+) {}
@@ -1,8 +1,36 @@
 package com.ftgo.accounting;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+/**
+ * Payment provider SPI.
+ *
+ * The async methods are the primary path: a provider that supports non-blocking I/O returns a
+ * future that completes when the provider answers, so NO thread waits during the round trip.
+ * The defaults adapt a blocking provider by running it on the common pool.
+ */
 public interface PaymentGateway {
     record PaymentResult(boolean success, String transactionId) {}
+    record ChargeRequest(BigDecimal amount, String paymentMethod) {}
+
     PaymentResult charge(BigDecimal amount, String paymentMethod);
+
+    /**
+     * Authorize many charges in one provider call. Results are in request order.
+     * Providers without a batch API fall back to one charge() per request.
+     */
+    default List<PaymentResult> chargeBatch(List<ChargeRequest> requests) {
+        List<PaymentResult> results = new ArrayList<>(requests.size());
+        for (ChargeRequest request : requests) {
+            results.add(charge(request.amount(), request.paymentMethod()));
+        }
+        return results;
+    }
+
+    default CompletableFuture<List<PaymentResult>> chargeBatchAsync(List<ChargeRequest> requests) {
+        return CompletableFuture.supplyAsync(() -> chargeBatch(requests));
+    }
 }
@@ -0,0 +1,60 @@
+package com.ftgo.accounting;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Latency/failure simulator for the mock payment provider.
+ *
+ * Instead of Thread.sleep() on the caller, the response is scheduled on a single timer thread:
+ * 10,000 in-flight "provider calls" cost 10,000 scheduled tasks, not 10,000 blocked threads.
+ *
+ *   ftgo.payments.gateway.latency-ms    base round trip (default 500)
+ *   ftgo.payments.gateway.jitter-ms     + uniform random 0..jitter
+ *   ftgo.payments.gateway.failure-rate  fraction of calls that fail with an exception (0.0–1.0)
+ */
+@Component
+public class PaymentGatewaySimulator {
+
+    private final long latencyMs;
+    private final long jitterMs;
+    private final double failureRate;
+    private final ScheduledExecutorService timer;
+
+    public PaymentGatewaySimulator(@Value("${ftgo.payments.gateway.latency-ms:500}") long latencyMs,
+                                   @Value("${ftgo.payments.gateway.jitter-ms:0}") long jitterMs,
+                                   @Value("${ftgo.payments.gateway.failure-rate:0.0}") double failureRate) {
+        this.latencyMs = latencyMs;
+        this.jitterMs = jitterMs;
+        this.failureRate = failureRate;
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "payment-gateway-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public <T> CompletableFuture<T> respond(Supplier<T> response) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delay = latencyMs + (jitterMs > 0 ? random.nextLong(jitterMs + 1) : 0);
+        boolean fail = random.nextDouble() < failureRate;
+        timer.schedule(() -> {
+            if (fail) {
+                future.completeExceptionally(new RuntimeException("Simulated payment gateway failure"));
+            } else {
+                future.complete(response.get());
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+        return future;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+    }
+}
@@ -1,8 +1,45 @@
 package com.ftgo.accounting;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
-    Optional<Payment> findByOrderId(Long orderId);
+    Optional<Payment> findFirstByOrderIdOrderByIdDesc(Long orderId);
+    Optional<Payment> findByOrderIdAndAttemptKey(Long orderId, String attemptKey);
+
+    /**
+     * Keyset page ordered by (orderId, id) — an order can have several attempts, so the cursor
+     * is the (orderId, id) of the last row received.
+     */
+    @Query("select new com.ftgo.accounting.PaymentExportRow(p.id, p.orderId, p.status, p.amount, p.createdAt) "
+            + "from Payment p where p.orderId > :afterOrderId or (p.orderId = :afterOrderId and p.id > :afterId) "
+            + "order by p.orderId, p.id")
+    List<PaymentExportRow> exportPage(@Param("afterOrderId") long afterOrderId, @Param("afterId") long afterId,
+                                      Pageable limit);
+
+    /**
+     * Re-opens an attempt for a new charge: a FAILED one the gateway rejected, or a PENDING one whose
+     * claim is older than {@code staleBefore} (its owner is gone). A risk decline (declineReason set)
+     * is final and never re-opened. Returns 0 if another caller re-opened it first.
+     */
+    @Transactional
+    @Modifying
+    @Query("update Payment p set p.status = com.ftgo.accounting.PaymentStatus.PENDING, p.claimedAt = :now, "
+            + "p.transactionId = null, p.version = p.version + 1 "
+            + "where p.id = :id and ((p.status = com.ftgo.accounting.PaymentStatus.FAILED and p.declineReason is null) "
+            + "or (p.status = com.ftgo.accounting.PaymentStatus.PENDING and p.claimedAt < :staleBefore))")
+    int reclaim(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("staleBefore") LocalDateTime staleBefore);
+
+    /** Compare-and-set on status — returns 0 if the payment was not in the expected state. */
+    @Transactional
+    @Modifying
+    @Query("update Payment p set p.status = :to, p.version = p.version + 1 where p.id = :id and p.status = :from")
+    int transition(@Param("id") Long id, @Param("from") PaymentStatus from, @Param("to") PaymentStatus to);
 }
@@ -6,6 +6,11 @@ import java.math.BigDecimal;
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor
 public class PaymentRequest {
     private Long orderId;
+    /** Optional — feeds the per-consumer risk rules (RiskScorer). */
+    private Long consumerId;
+    private Long restaurantId;
     private BigDecimal amount;
     private String paymentMethod;
+    /** Optional — same key = same attempt (retries are safe). Defaults to one attempt per order. */
+    private String attemptKey;
 }
@@ -1,5 +1,5 @@
 package com.ftgo.accounting;
 
 public enum PaymentStatus {
-    AUTHORIZED, CHARGED, FAILED, REFUNDED
+    PENDING, AUTHORIZED, CHARGED, FAILED, REFUNDED
 }
@@ -0,0 +1,22 @@
+package com.ftgo.accounting;
+
+/**
+ * One velocity rule, bound from ftgo.payments.risk.rules.<name>.*
+ *
+ *   dimension       CONSUMER | PAYMENT_METHOD — what the window is keyed by
+ *   metric          COUNT (authorizations) | AMOUNT (sum, in minor units)
+ *   window-seconds  sliding window length
+ *   limit           trips when the window total (including this request) exceeds it
+ *   score           added to the request's risk score when tripped
+ */
+public record RiskRule(
+    Dimension dimension,
+    Metric metric,
+    int windowSeconds,
+    long limit,
+    int score
+) {
+    public enum Dimension { CONSUMER, PAYMENT_METHOD }
+
+    public enum Metric { COUNT, AMOUNT }
+}
@@ -0,0 +1,70 @@
+package com.ftgo.accounting;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Daily restaurant settlement.
+ *
+ * Streams yesterday's restaurant postings (captures and refunds) straight from the ledger —
+ * a server-side cursor with fetch size 1000 of non-managed projections — and keeps only one
+ * running total per restaurant in memory. It never loads the day's entries as a list.
+ * Each restaurant with a positive net gets a SETTLEMENT posting referenced
+ * "settlement:<date>:<account>", so a re-run of the same day is a no-op: the exists check skips
+ * settled restaurants, and the unique (transactionRef, direction) constraint rejects the posting
+ * of a run that raced past it (another replica, or a manual run during the nightly one).
+ */
+@Slf4j
+@Component
+public class SettlementJob {
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Scheduled(cron = "${ftgo.ledger.settlement.cron:0 0 2 * * *}")
+    public void settleYesterday() {
+        settle(LocalDate.now().minusDays(1));
+    }
+
+    public int settle(LocalDate day) {
+        Map<String, BigDecimal> netByRestaurant = new HashMap<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<LedgerLine> lines = ledgerEntryRepository.streamRestaurantPostings(
+                    day.atStartOfDay(), day.plusDays(1).atStartOfDay())) {
+                lines.forEach(line -> netByRestaurant.merge(line.account(), line.signedAmount(), BigDecimal::add));
+            }
+        });
+
+        int settled = 0;
+        for (Map.Entry<String, BigDecimal> net : netByRestaurant.entrySet()) {
+            String ref = "settlement:" + day + ":" + net.getKey();
+            if (net.getValue().signum() <= 0 || ledgerEntryRepository.existsByTransactionRef(ref)) {
+                continue;
+            }
+            try {
+                ledgerService.postSettlement(ref, net.getKey(), net.getValue());
+                settled++;
+            } catch (DataIntegrityViolationException e) {
+                log.info(">>> {} was posted concurrently — skipped", ref);
+            }
+        }
+        log.info(">>> Settlement for {}: {} restaurant(s) paid out", day, settled);
+        return settled;
+    }
+}
@@ -0,0 +1,69 @@
+package com.ftgo.accounting;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sliding-window sum over a ring of fixed-size buckets.
+ *
+ *   window = 60s, 10 buckets → each bucket covers 6s
+ *
+ *     [ 3 | 1 | 0 | 4 | 2 | 0 | 0 | 5 | 1 | 2 ]   sum = 18
+ *                               ▲ current bucket — the slot is reused once its
+ *                                 bucket id is a full window old
+ *
+ * Precision is one bucket (the oldest bucket drops out all at once), which is plenty for
+ * velocity rules — in exchange an update is one add plus a 10-element sum, with no timestamps
+ * per event.
+ *
+ * Lock-free: a PAYMENT_METHOD counter is shared by every authorization using that method, so a
+ * lock here would serialize the whole service. Each bucket is a LongAdder (striped per thread,
+ * so concurrent adds do not contend on one cache line), and a slot is claimed for a new bucket
+ * with a CAS on its id. An add racing with the rotation of its slot may be lost — at most a few
+ * events once per bucket, well within the one-bucket precision.
+ */
+final class SlidingWindowCounter {
+
+    private final long bucketNanos;
+    private final LongAdder[] sums;
+    private final AtomicLongArray bucketIds;
+
+    SlidingWindowCounter(long windowNanos, int buckets) {
+        this.bucketNanos = Math.max(1, windowNanos / buckets);
+        this.sums = new LongAdder[buckets];
+        this.bucketIds = new AtomicLongArray(buckets);
+        for (int i = 0; i < buckets; i++) {
+            sums[i] = new LongAdder();
+            bucketIds.set(i, Long.MIN_VALUE);
+        }
+    }
+
+    /** Adds {@code value} at {@code nowNanos} and returns the window total including it. */
+    long addAndGet(long value, long nowNanos) {
+        long bucketId = nowNanos / bucketNanos;
+        int slot = (int) Math.floorMod(bucketId, (long) sums.length);
+        long current = bucketIds.get(slot);
+        // only move forward — a caller with an older clock reading just adds to the newer bucket
+        if (current < bucketId && bucketIds.compareAndSet(slot, current, bucketId)) {
+            sums[slot].reset();
+        }
+        sums[slot].add(value);
+
+        long total = 0;
+        for (int i = 0; i < sums.length; i++) {
+            if (bucketId - bucketIds.get(i) < sums.length) {
+                total += sums[i].sum();
+            }
+        }
+        return total;
+    }
+
+    /** True once every bucket has expired — the counter can be dropped. */
+    boolean isIdle(long nowNanos) {
+        long latest = Long.MIN_VALUE;
+        for (int i = 0; i < sums.length; i++) {
+            latest = Math.max(latest, bucketIds.get(i));
+        }
+        return nowNanos / bucketNanos - latest >= sums.length;
+    }
+}
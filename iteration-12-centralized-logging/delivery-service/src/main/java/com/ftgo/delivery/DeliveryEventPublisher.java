@@ -1,5 +1,6 @@
 package com.ftgo.delivery;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,6 +18,10 @@ import org.springframework.stereotype.Component;
  * Events published:
  *   - PICKED_UP  → monolith updates Order → PICKED_UP
  *   - DELIVERED  → monolith updates Order → DELIVERED
+ *
+ * Exactly-once mode: sends join the caller's @Transactional via a transactional KafkaTemplate
+ * (see TicketEventPublisher). Only serialization errors are caught here — a send failure must
+ * propagate so the delivery update rolls back together with the aborted Kafka transaction.
  */
 @Slf4j
 @Component
@@ -32,8 +37,8 @@ public class DeliveryEventPublisher {
             String json = objectMapper.writeValueAsString(event);
             kafkaTemplate.send("delivery-events", String.valueOf(event.getOrderId()), json);
             log.info(">>> Published DeliveryStatusChanged event to Kafka: {}", event);
-        } catch (Exception e) {
-            log.error("Failed to publish DeliveryStatusChanged event: {}", e.getMessage(), e);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize DeliveryStatusChanged event: {}", e.getMessage(), e);
         }
     }
 }
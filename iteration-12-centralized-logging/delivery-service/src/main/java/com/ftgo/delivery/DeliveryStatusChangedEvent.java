@@ -2,6 +2,8 @@ package com.ftgo.delivery;
 
 import lombok.*;
 
+import java.util.UUID;
+
 /**
  * Domain Event published to Kafka topic "delivery-events".
  *
@@ -14,7 +16,13 @@ import lombok.*;
  */
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @ToString
 public class DeliveryStatusChangedEvent {
+    /** Unique per publish — consumers dedupe on this (Idempotent Consumer). */
+    private String eventId;
     private Long deliveryId;
     private Long orderId;
     private String newStatus;
+
+    public DeliveryStatusChangedEvent(Long deliveryId, Long orderId, String newStatus) {
+        this(UUID.randomUUID().toString(), deliveryId, orderId, newStatus);
+    }
 }
@@ -0,0 +1,33 @@
+package com.ftgo.delivery;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.orm.jpa.JpaTransactionManager;
+
+/**
+ * Keeps JPA as the primary transaction manager while Kafka publishing is transactional.
+ *
+ * Setting spring.kafka.producer.transaction-id-prefix makes Boot register a KafkaTransactionManager,
+ * and Boot's own JpaTransactionManager backs off as soon as ANY PlatformTransactionManager exists —
+ * so @Transactional methods in DeliveryService ran a Kafka transaction and the delivery row was
+ * written without a database transaction.
+ *
+ * With this bean @Transactional is a JPA transaction again. The transactional KafkaTemplate
+ * synchronizes with it (it does not need its own transaction manager for that):
+ *
+ *   DB work → send() (joins a Kafka tx bound to the JPA tx) → DB commit → Kafka commit
+ *
+ * The DB commits first: a DB failure aborts the send; a Kafka commit failure surfaces to the caller
+ * AFTER the DB commit, so that change is persisted without its event (best-effort 1PC).
+ */
+@Configuration
+public class TransactionConfig {
+
+    @Bean(name = "transactionManager")
+    @Primary
+    public JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+        return new JpaTransactionManager(entityManagerFactory);
+    }
+}
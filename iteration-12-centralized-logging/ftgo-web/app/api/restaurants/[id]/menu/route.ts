@@ -1,9 +1,6 @@
-import { getServiceUrl } from "@/lib/proxy";
-import { NextResponse } from "next/server";
+import { getServiceUrl, proxyConditionalGet } from "@/lib/proxy";
 
-export async function GET(_request: Request, { params }: { params: { id: string } }) {
+export async function GET(request: Request, { params }: { params: { id: string } }) {
   const url = `${getServiceUrl("restaurants")}/api/restaurants/${params.id}/menu`;
-  const res = await fetch(url, { cache: "no-store" });
-  const data = await res.text();
-  return new NextResponse(data, { status: res.status, headers: { "Content-Type": "application/json" } });
+  return proxyConditionalGet(url, request);
 }
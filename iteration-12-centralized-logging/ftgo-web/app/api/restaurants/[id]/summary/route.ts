@@ -0,0 +1,7 @@
+import { getServiceUrl, proxyConditionalGet } from "@/lib/proxy";
+
+export async function GET(request: Request, { params }: { params: { id: string } }) {
+  const { search } = new URL(request.url);
+  const url = `${getServiceUrl("restaurants")}/api/restaurants/${params.id}/summary${search}`;
+  return proxyConditionalGet(url, request);
+}
@@ -0,0 +1,9 @@
+import { getServiceUrl, proxyConditionalGet } from "@/lib/proxy";
+
+export const dynamic = "force-dynamic";
+
+export async function GET(request: Request) {
+  const { search } = new URL(request.url);
+  const url = `${getServiceUrl("restaurants")}/api/restaurants/summary${search}`;
+  return proxyConditionalGet(url, request);
+}
@@ -113,6 +113,14 @@ export default function OrderDetailPage() {
                 {new Date(order.createdAt).toLocaleString()}
               </dd>
             </div>
+            {order.menuSnapshot && (
+              <div className="flex justify-between">
+                <dt className="text-sm text-gray-500">Menu Version</dt>
+                <dd className="text-sm text-gray-900 font-mono" title={order.menuSnapshot}>
+                  {order.menuSnapshot.slice(0, 12)}
+                </dd>
+              </div>
+            )}
           </dl>
 
           {/* Items */}
@@ -2,14 +2,14 @@
 
 import { useEffect, useState } from "react";
 import { useParams, useRouter } from "next/navigation";
-import { restaurantsApi, ordersApi, type Restaurant, type MenuItem } from "@/lib/api";
+import { restaurantsApi, ordersApi, type RestaurantSummary, type MenuItem } from "@/lib/api";
 
 export default function MenuPage() {
   const params = useParams();
   const router = useRouter();
   const restaurantId = Number(params.id);
 
-  const [restaurant, setRestaurant] = useState<Restaurant | null>(null);
+  const [restaurant, setRestaurant] = useState<RestaurantSummary | null>(null);
   const [menuItems, setMenuItems] = useState<MenuItem[]>([]);
   const [quantities, setQuantities] = useState<Record<number, number>>({});
   const [loading, setLoading] = useState(true);
@@ -24,7 +24,7 @@ export default function MenuPage() {
 
   useEffect(() => {
     Promise.all([
-      restaurantsApi.getById(restaurantId),
+      restaurantsApi.getSummary(restaurantId, "id,name,address,open"),
       restaurantsApi.getMenu(restaurantId),
     ])
       .then(([rest, items]) => {
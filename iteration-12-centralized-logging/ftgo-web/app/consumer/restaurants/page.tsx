@@ -1,17 +1,17 @@
 "use client";
 
 import { useEffect, useState } from "react";
-import { restaurantsApi, type Restaurant } from "@/lib/api";
+import { restaurantsApi, type RestaurantSummary } from "@/lib/api";
 import RestaurantCard from "@/components/RestaurantCard";
 
 export default function RestaurantsPage() {
-  const [restaurants, setRestaurants] = useState<Restaurant[]>([]);
+  const [restaurants, setRestaurants] = useState<RestaurantSummary[]>([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState("");
 
   useEffect(() => {
     restaurantsApi
-      .getAll()
+      .getSummaries()
       .then(setRestaurants)
       .catch((e) => setError(e.message))
       .finally(() => setLoading(false));
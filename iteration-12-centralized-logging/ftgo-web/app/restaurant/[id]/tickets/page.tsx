@@ -3,7 +3,7 @@
 import { useEffect, useState } from "react";
 import { useParams } from "next/navigation";
 import Link from "next/link";
-import { kitchenApi, restaurantsApi, type KitchenTicket, type Restaurant } from "@/lib/api";
+import { kitchenApi, restaurantsApi, type KitchenTicket, type RestaurantSummary } from "@/lib/api";
 import OrderStatusBadge from "@/components/OrderStatusBadge";
 import WorkflowStepper from "@/components/WorkflowStepper";
 
@@ -22,7 +22,7 @@ export default function TicketsPage() {
   const params = useParams();
   const restaurantId = Number(params.id);
 
-  const [restaurant, setRestaurant] = useState<Restaurant | null>(null);
+  const [restaurant, setRestaurant] = useState<RestaurantSummary | null>(null);
   const [tickets, setTickets] = useState<KitchenTicket[]>([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState("");
@@ -30,7 +30,7 @@ export default function TicketsPage() {
 
   const fetchData = () => {
     Promise.all([
-      restaurantsApi.getById(restaurantId),
+      restaurantsApi.getSummary(restaurantId, "id,name"),
       kitchenApi.getTickets(restaurantId),
     ])
       .then(([r, t]) => {
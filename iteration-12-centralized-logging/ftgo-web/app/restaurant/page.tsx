@@ -2,16 +2,16 @@
 
 import { useEffect, useState } from "react";
 import Link from "next/link";
-import { restaurantsApi, type Restaurant } from "@/lib/api";
+import { restaurantsApi, type RestaurantSummary } from "@/lib/api";
 
 export default function RestaurantDashboard() {
-  const [restaurants, setRestaurants] = useState<Restaurant[]>([]);
+  const [restaurants, setRestaurants] = useState<RestaurantSummary[]>([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState("");
 
   useEffect(() => {
     restaurantsApi
-      .getAll()
+      .getSummaries("id,name,address,phone")
       .then(setRestaurants)
       .catch((e) => setError(e.message))
       .finally(() => setLoading(false));
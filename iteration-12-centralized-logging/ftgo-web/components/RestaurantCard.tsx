@@ -1,7 +1,7 @@
 import Link from "next/link";
-import type { Restaurant } from "@/lib/api";
+import type { RestaurantSummary } from "@/lib/api";
 
-export default function RestaurantCard({ restaurant }: { restaurant: Restaurant }) {
+export default function RestaurantCard({ restaurant }: { restaurant: RestaurantSummary }) {
   return (
     <div className="bg-white rounded-lg shadow-md overflow-hidden hover:shadow-lg transition-shadow">
       <div className="p-5">
@@ -21,7 +21,7 @@ export default function RestaurantCard({ restaurant }: { restaurant: Restaurant
         </div>
         <div className="mt-4 flex items-center justify-between">
           <span className="text-sm text-gray-500">
-            {restaurant.menuItems?.length || 0} menu items
+            {restaurant.menuItemCount || 0} menu items
           </span>
           <Link
             href={`/consumer/restaurants/${restaurant.id}/menu`}
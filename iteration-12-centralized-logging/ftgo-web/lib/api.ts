@@ -28,6 +28,8 @@ export interface OrderResponse {
   status: string;
   totalAmount: number;
   items: OrderItem[];
+  /** Hash of the menu snapshot the items were priced from (absent on older orders). */
+  menuSnapshot?: string;
   createdAt: string;
 }
 
@@ -67,9 +69,25 @@ export interface Restaurant {
   menuItems: MenuItem[];
 }
 
+/** Listing view — no menu. Only the fields asked for via `fields` are present. */
+export interface RestaurantSummary {
+  id: number;
+  name: string;
+  address: string;
+  phone: string;
+  open: boolean;
+  menuItemCount: number;
+}
+
+const fieldsParam = (fields?: string) => (fields ? `?fields=${encodeURIComponent(fields)}` : "");
+
 export const restaurantsApi = {
   getAll: () => apiFetch<Restaurant[]>("/api/restaurants"),
+  getSummaries: (fields?: string) =>
+    apiFetch<RestaurantSummary[]>(`/api/restaurants/summary${fieldsParam(fields)}`),
   getById: (id: number) => apiFetch<Restaurant>(`/api/restaurants/${id}`),
+  getSummary: (id: number, fields?: string) =>
+    apiFetch<RestaurantSummary>(`/api/restaurants/${id}/summary${fieldsParam(fields)}`),
   getMenu: (id: number) => apiFetch<MenuItem[]>(`/api/restaurants/${id}/menu`),
 };
 
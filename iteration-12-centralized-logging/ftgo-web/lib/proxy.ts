@@ -34,3 +34,31 @@ export async function proxyRequest(
     headers: { "Content-Type": "application/json" },
   });
 }
+
+/**
+ * GET that passes HTTP validators through in both directions — the browser's If-None-Match
+ * goes upstream, and ETag / Cache-Control come back, so a poll of an unchanged catalog is a
+ * 304 with no body all the way from restaurant-service.
+ */
+export async function proxyConditionalGet(upstreamUrl: string, request: Request): Promise<NextResponse> {
+  const headers: Record<string, string> = { Accept: "application/json" };
+  const ifNoneMatch = request.headers.get("if-none-match");
+  if (ifNoneMatch) headers["If-None-Match"] = ifNoneMatch;
+
+  const res = await fetch(upstreamUrl, { headers, cache: "no-store" });
+
+  const responseHeaders: Record<string, string> = {};
+  const etag = res.headers.get("etag");
+  if (etag) responseHeaders["ETag"] = etag;
+  const cacheControl = res.headers.get("cache-control");
+  if (cacheControl) responseHeaders["Cache-Control"] = cacheControl;
+
+  if (res.status === 304) {
+    return new NextResponse(null, { status: 304, headers: responseHeaders });
+  }
+  const data = await res.text();
+  return new NextResponse(data, {
+    status: res.status,
+    headers: { "Content-Type": "application/json", ...responseHeaders },
+  });
+}
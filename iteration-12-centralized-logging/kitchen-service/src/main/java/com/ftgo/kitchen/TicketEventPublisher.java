@@ -22,6 +22,13 @@ import org.springframework.stereotype.Component;
  * 2. Resilience — if monolith is temporarily down, events queue in Kafka
  * 3. Audit trail — Kafka retains events for replay/debugging
  * 4. Multiple consumers — other services can also react to kitchen events
+ *
+ * Exactly-once mode (spring.kafka.producer.transaction-id-prefix is set):
+ *   KafkaTemplate becomes transactional and, because every caller in KitchenService is
+ *   @Transactional, the send is SYNCHRONIZED with the JPA transaction. The Kafka transaction
+ *   commits right after the ticket row commits, and aborts if the DB work rolls back —
+ *   so read_committed consumers never see an event for a state change that did not happen.
+ *   Calling this outside a transaction fails fast with IllegalStateException.
  */
 @Slf4j
 @Component
@@ -2,6 +2,8 @@ package com.ftgo.kitchen;
 
 import lombok.*;
 
+import java.util.UUID;
+
 /**
  * Domain Event published to Kafka when a kitchen ticket's status changes.
  *
@@ -19,7 +21,13 @@ import lombok.*;
  */
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @ToString
 public class TicketStatusChangedEvent {
+    /** Unique per publish — consumers dedupe on this (Idempotent Consumer). */
+    private String eventId;
     private Long ticketId;
     private Long orderId;
     private String newStatus;
+
+    public TicketStatusChangedEvent(Long ticketId, Long orderId, String newStatus) {
+        this(UUID.randomUUID().toString(), ticketId, orderId, newStatus);
+    }
 }
@@ -0,0 +1,35 @@
+package com.ftgo.notification;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Operations endpoint for dead-lettered events consumed by notification-service.
+ *
+ *   POST /api/dlt/{topic}/replay?max=100 — re-drive up to {max} records from {topic}-dlt
+ *
+ * Not routed through the API gateway — call the service directly.
+ */
+@RestController
+@RequestMapping("/api/dlt")
+public class DeadLetterController {
+
+    private static final String GROUP_ID = "notification-service";
+    private static final Set<String> REPLAYABLE_TOPICS = Set.of("order-events-failed");
+
+    @Autowired
+    private DeadLetterReplayer deadLetterReplayer;
+
+    @PostMapping("/{topic}/replay")
+    public Map<String, Object> replay(@PathVariable String topic,
+                                      @RequestParam(defaultValue = "100") int max) {
+        if (!REPLAYABLE_TOPICS.contains(topic)) {
+            throw new RuntimeException("Topic is not consumed by notification-service: " + topic);
+        }
+        int replayed = deadLetterReplayer.replay(topic, GROUP_ID, max);
+        return Map.of("topic", topic, "replayed", replayed);
+    }
+}
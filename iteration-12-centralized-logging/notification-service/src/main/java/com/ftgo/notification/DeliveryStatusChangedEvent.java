@@ -0,0 +1,19 @@
+package com.ftgo.notification;
+
+import lombok.*;
+
+/**
+ * Event published by delivery-service to Kafka topic "delivery-events".
+ * Must match com.ftgo.delivery.DeliveryStatusChangedEvent in delivery-service exactly.
+ *
+ * notification-service turns COURIER_ASSIGNED / PICKED_UP / DELIVERED into status updates
+ * for the consumer (see StatusUpdateCoalescer).
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @ToString
+public class DeliveryStatusChangedEvent {
+    /** Unique per publish — consumers dedupe on this (Idempotent Consumer). */
+    private String eventId;
+    private Long deliveryId;
+    private Long orderId;
+    private String newStatus;
+}
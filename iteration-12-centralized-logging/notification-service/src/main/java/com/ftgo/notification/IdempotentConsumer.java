@@ -0,0 +1,98 @@
+package com.ftgo.notification;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Idempotent Consumer pattern — dedupe Kafka events by event id.
+ *
+ * Kafka delivers at-least-once: after a rebalance or a producer retry the same event can
+ * arrive twice. Two layers keep handlers from applying it twice:
+ *
+ *   1. In-memory LRU of recently applied keys — answers the common replay case
+ *      (a rebalance re-delivering the last batch) without a DB round-trip.
+ *   2. processed_event table — the durable answer, written by markProcessed() inside the
+ *      handler's @Transactional, so "applied" and "recorded" commit atomically.
+ *
+ * Keys are only added to the LRU after the transaction commits, so a rolled-back handler
+ * never poisons the cache.
+ *
+ * Usage inside a @Transactional listener:
+ *   String eventId = IdempotentConsumer.eventIdOf(event.getEventId(), record);
+ *   if (idempotentConsumer.isDuplicate(CONSUMER, eventId)) return;
+ *   ... apply the event ...
+ *   idempotentConsumer.markProcessed(CONSUMER, eventId);
+ */
+@Slf4j
+@Component
+public class IdempotentConsumer {
+
+    @Autowired
+    private ProcessedEventRepository processedEventRepository;
+
+    private final Set<String> recentlyProcessed;
+
+    public IdempotentConsumer(@Value("${ftgo.idempotency.cache-size:10000}") int cacheSize) {
+        this.recentlyProcessed = Collections.newSetFromMap(Collections.synchronizedMap(
+                new LinkedHashMap<>(cacheSize, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                        return size() > cacheSize;
+                    }
+                }));
+    }
+
+    /**
+     * Events published before event ids existed fall back to their Kafka coordinates.
+     */
+    public static String eventIdOf(String eventId, ConsumerRecord<?, ?> record) {
+        if (eventId != null) {
+            return eventId;
+        }
+        return record.topic() + "-" + record.partition() + "@" + record.offset();
+    }
+
+    public boolean isDuplicate(String consumer, String eventId) {
+        String key = consumer + ":" + eventId;
+        if (recentlyProcessed.contains(key)) {
+            log.info(">>> Duplicate event {} for {} (cache hit) — skipping", eventId, consumer);
+            return true;
+        }
+        if (processedEventRepository.existsByConsumerAndEventId(consumer, eventId)) {
+            recentlyProcessed.add(key);
+            log.info(">>> Duplicate event {} for {} (processed_event) — skipping", eventId, consumer);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Must be called from within the handler's transaction.
+     */
+    public void markProcessed(String consumer, String eventId) {
+        processedEventRepository.save(new ProcessedEvent(null, consumer, eventId, LocalDateTime.now()));
+
+        String key = consumer + ":" + eventId;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recentlyProcessed.add(key);
+                }
+            });
+        } else {
+            recentlyProcessed.add(key);
+        }
+    }
+}
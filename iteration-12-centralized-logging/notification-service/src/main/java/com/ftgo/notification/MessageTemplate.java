@@ -0,0 +1,125 @@
+package com.ftgo.notification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A message template compiled ONCE into a segment array.
+ *
+ *   "Hi {consumerName}, your order #{orderId} has been confirmed!"
+ *        ──compile──▶ literals = ["Hi ", ", your order #", " has been confirmed!"]
+ *                     slots    = [0 (consumerName), 1 (orderId)]
+ *
+ * render() just walks the two arrays and appends into a per-thread StringBuilder that is
+ * reused across renders — no regex, no parsing, no intermediate Strings. The only allocation
+ * per message is the final String (plus the caller's argument array). Long and int arguments
+ * are appended as primitives, so they don't go through String.valueOf().
+ *
+ * Placeholders are {name}; "{{" is a literal brace. Unknown placeholder names fail at compile
+ * time, so a bad template from config-server is rejected on refresh instead of at send time.
+ */
+public final class MessageTemplate {
+
+    private static final int MAX_POOLED_CAPACITY = 4096;
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    private final String name;
+    private final int version;
+    private final String locale;
+    private final String[] literals;
+    private final int[] slots;
+
+    private MessageTemplate(String name, int version, String locale, String[] literals, int[] slots) {
+        this.name = name;
+        this.version = version;
+        this.locale = locale;
+        this.literals = literals;
+        this.slots = slots;
+    }
+
+    /**
+     * @param parameters placeholder names, in the order render() receives their values
+     */
+    public static MessageTemplate compile(String name, int version, String locale, String text, List<String> parameters) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (c == '{' && i + 1 < text.length() && text.charAt(i + 1) == '{') {
+                literal.append('{');
+                i += 2;
+            } else if (c == '{') {
+                int end = text.indexOf('}', i);
+                if (end < 0) {
+                    throw new RuntimeException("Template " + name + "/" + locale + ": unclosed '{' at " + i);
+                }
+                String parameter = text.substring(i + 1, end).trim();
+                int slot = parameters.indexOf(parameter);
+                if (slot < 0) {
+                    throw new RuntimeException("Template " + name + "/" + locale + ": unknown placeholder {"
+                            + parameter + "}, expected one of " + parameters);
+                }
+                literals.add(literal.toString());
+                slots.add(slot);
+                literal.setLength(0);
+                i = end + 1;
+            } else {
+                literal.append(c);
+                i++;
+            }
+        }
+        literals.add(literal.toString());
+
+        return new MessageTemplate(name, version, locale,
+                literals.toArray(new String[0]),
+                slots.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    public String render(Object... args) {
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+        for (int i = 0; i < slots.length; i++) {
+            out.append(literals[i]);
+            append(out, args[slots[i]]);
+        }
+        out.append(literals[slots.length]);
+
+        String message = out.toString();
+        if (out.capacity() > MAX_POOLED_CAPACITY) {
+            BUFFER.remove(); // don't let one huge message pin a big buffer to a lane thread forever
+        }
+        return message;
+    }
+
+    private static void append(StringBuilder out, Object arg) {
+        if (arg instanceof String s) {
+            out.append(s);
+        } else if (arg instanceof Long l) {
+            out.append(l.longValue());
+        } else if (arg instanceof Integer n) {
+            out.append(n.intValue());
+        } else {
+            out.append(arg);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public String getLocale() {
+        return locale;
+    }
+
+    /** e.g. "order-confirmed@2/hi" — stored on each Notification so we know what text was sent. */
+    public String id() {
+        return name + "@" + version + "/" + locale;
+    }
+}
@@ -0,0 +1,108 @@
+package com.ftgo.notification;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compiled, versioned, localized message templates.
+ *
+ * Templates come from config-server:
+ *   ftgo.notification.templates.order-confirmed.version=2
+ *   ftgo.notification.templates.order-confirmed.en=Hi {consumerName}, ...
+ *   ftgo.notification.templates.order-confirmed.hi=Namaste {consumerName}, ...
+ * and fall back to NotificationTemplate's built-in English text.
+ *
+ * All templates are compiled at startup. After a config change, POST /actuator/refresh fires
+ * an EnvironmentChangeEvent; if any template key changed, the whole set is recompiled and
+ * swapped in with one volatile write — senders never see a half-updated set, and a template
+ * that fails to compile keeps the previous set in place.
+ *
+ * Lookup falls back: "hi-IN" → "hi" → default locale.
+ */
+@Slf4j
+@Component
+public class MessageTemplateRegistry {
+
+    private static final String PREFIX = "ftgo.notification.templates";
+    private static final Bindable<Map<String, Map<String, String>>> TEMPLATE_PROPERTIES = Bindable.of(
+            ResolvableType.forClassWithGenerics(Map.class,
+                    ResolvableType.forClass(String.class),
+                    ResolvableType.forClassWithGenerics(Map.class, String.class, String.class)));
+
+    private final Environment environment;
+    private final String defaultLocale;
+
+    private volatile Map<NotificationTemplate, Map<String, MessageTemplate>> templates;
+
+    public MessageTemplateRegistry(Environment environment,
+                                   @Value("${ftgo.notification.default-locale:en}") String defaultLocale) {
+        this.environment = environment;
+        this.defaultLocale = defaultLocale;
+        this.templates = compileAll();
+    }
+
+    public MessageTemplate get(NotificationTemplate template, String locale) {
+        Map<String, MessageTemplate> byLocale = templates.get(template);
+        if (locale != null) {
+            String tag = locale.toLowerCase().replace('_', '-');
+            MessageTemplate match = byLocale.get(tag);
+            if (match == null && tag.indexOf('-') > 0) {
+                match = byLocale.get(tag.substring(0, tag.indexOf('-')));
+            }
+            if (match != null) {
+                return match;
+            }
+        }
+        return byLocale.get(defaultLocale);
+    }
+
+    @EventListener
+    public void onEnvironmentChange(EnvironmentChangeEvent event) {
+        if (event.getKeys().stream().noneMatch(key -> key.startsWith(PREFIX))) {
+            return;
+        }
+        try {
+            templates = compileAll();
+        } catch (RuntimeException e) {
+            log.error(">>> Template reload rejected, keeping previous templates: {}", e.getMessage());
+        }
+    }
+
+    private Map<NotificationTemplate, Map<String, MessageTemplate>> compileAll() {
+        Map<String, Map<String, String>> configured = Binder.get(environment)
+                .bind(PREFIX, TEMPLATE_PROPERTIES)
+                .orElse(Map.of());
+
+        Map<NotificationTemplate, Map<String, MessageTemplate>> compiled = new EnumMap<>(NotificationTemplate.class);
+        for (NotificationTemplate template : NotificationTemplate.values()) {
+            Map<String, String> entries = configured.getOrDefault(template.getKey(), Map.of());
+            int version = Integer.parseInt(entries.getOrDefault("version", "1"));
+
+            Map<String, MessageTemplate> byLocale = new HashMap<>();
+            byLocale.put(defaultLocale, MessageTemplate.compile(template.getKey(), version, defaultLocale,
+                    template.getDefaultText(), template.getParameters()));
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                if (entry.getKey().equals("version")) {
+                    continue;
+                }
+                String locale = entry.getKey().toLowerCase();
+                byLocale.put(locale, MessageTemplate.compile(template.getKey(), version, locale,
+                        entry.getValue(), template.getParameters()));
+            }
+            compiled.put(template, byLocale);
+        }
+        log.info(">>> Compiled {} notification templates", compiled.values().stream().mapToInt(Map::size).sum());
+        return compiled;
+    }
+}
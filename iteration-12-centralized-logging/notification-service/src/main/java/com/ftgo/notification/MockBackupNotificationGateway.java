@@ -0,0 +1,35 @@
+package com.ftgo.notification;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Secondary provider stub — stands in for the fallback account each channel fails over to
+ * (e.g. Vonage for SMS, SES for email) while the primary's circuit breaker is open.
+ * One instance per channel is declared in NotificationGatewayConfig.
+ */
+@Slf4j
+public class MockBackupNotificationGateway implements NotificationGateway {
+
+    private final String name;
+
+    public MockBackupNotificationGateway(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public boolean send(String recipient, String message) {
+        log.info(">>> Mock {}: Sending to {}: {}", name, recipient, message);
+        try {
+            Thread.sleep(500); // Backup accounts are usually slower/pricier
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,29 @@
+package com.ftgo.notification;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Mock SendGrid — email providers are typically the slowest channel (~1s per call).
+ */
+@Slf4j
+@Service
+public class MockEmailNotificationGateway implements NotificationGateway {
+
+    @Override
+    public String name() {
+        return "sendgrid";
+    }
+
+    @Override
+    public boolean send(String recipient, String message) {
+        log.info(">>> Mock SendGrid: Emailing {}: {}", recipient, message);
+        try {
+            Thread.sleep(1000); // Simulate a slow email API
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return true;
+    }
+}
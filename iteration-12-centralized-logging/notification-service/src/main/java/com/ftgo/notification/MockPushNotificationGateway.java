@@ -0,0 +1,29 @@
+package com.ftgo.notification;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Mock Firebase Cloud Messaging — push is the cheapest and fastest channel.
+ */
+@Slf4j
+@Service
+public class MockPushNotificationGateway implements NotificationGateway {
+
+    @Override
+    public String name() {
+        return "firebase";
+    }
+
+    @Override
+    public boolean send(String recipient, String message) {
+        log.info(">>> Mock Firebase: Pushing to {}: {}", recipient, message);
+        try {
+            Thread.sleep(100); // Simulate external API latency
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,30 @@
+package com.ftgo.notification;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Same mock the monolith used (com.ftgo.external.MockTwilioNotificationGateway),
+ * moved here now that notification-service owns the outbound SMS integration.
+ */
+@Slf4j
+@Service
+public class MockTwilioNotificationGateway implements NotificationGateway {
+
+    @Override
+    public String name() {
+        return "twilio";
+    }
+
+    @Override
+    public boolean send(String recipient, String message) {
+        log.info(">>> Mock Twilio: Sending to {}: {}", recipient, message);
+        try {
+            Thread.sleep(300); // Simulate external API latency
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return true;
+    }
+}
@@ -5,11 +5,20 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notification")
+@Table(name = "notification", indexes = {
+        @Index(name = "idx_notification_order_id", columnList = "orderId"),   // GET /order/{orderId}
+        @Index(name = "idx_notification_sent_at", columnList = "sentAt")      // retention purge
+})
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor
 public class Notification {
+    /**
+     * Pooled sequence instead of IDENTITY: Hibernate must know the id BEFORE the insert
+     * to put rows into a JDBC batch, and IDENTITY only yields it after each insert.
+     * allocationSize=50 hands out 50 ids per sequence call.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_seq")
+    @SequenceGenerator(name = "notification_seq", sequenceName = "notification_seq", allocationSize = 50)
     private Long id;
     private Long orderId;
 
@@ -18,5 +27,11 @@ public class Notification {
 
     private String recipient;
     private String message;
+
+    /** Template that rendered the message, e.g. "order-confirmed@2/hi" (see MessageTemplate.id()). */
+    private String template;
+
+    /** The consumer's locale as sent with OrderCreated (null = default) — later status updates reuse it. */
+    private String locale;
     private LocalDateTime sentAt;
 }
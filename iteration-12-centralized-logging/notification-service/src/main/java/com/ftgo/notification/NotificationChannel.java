@@ -0,0 +1,220 @@
+package com.ftgo.notification;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One outbound channel (SMS, EMAIL or PUSH): its own lanes plus an ordered list of providers.
+ *
+ *   send() ──▶ channel lanes ──▶ primary   [circuit breaker] ──ok──▶ done
+ *                                   │ fails / breaker OPEN
+ *                                   ▼
+ *                               secondary [circuit breaker] ──ok──▶ done
+ *                                   │ fails
+ *                                   ▼
+ *                               false → caller parks the message on the retry topic
+ *
+ * While a primary's breaker is OPEN, sends go straight to the secondary without paying the
+ * primary's timeout on every message.
+ *
+ * RATE LIMITS:
+ *   A send the provider or recipient bucket cannot serve yet is DEFERRED, not waited for:
+ *
+ *     lane ──▶ tryAcquire = 0  ──▶ send now
+ *          └─▶ tryAcquire = Δt ──▶ deferred[recipient] = [msg]  ──timer(Δt)──▶ resubmitted to the same lane
+ *
+ *   The lane goes straight on to other recipients. Later messages to a recipient with deferred
+ *   ones join the back of its deferred queue, so per-recipient order is kept. A recipient's queue
+ *   is only touched by its own lane. More than max-deferred waiting messages for one recipient
+ *   fail the send (the caller parks it on the retry topic), as a full lane does.
+ */
+@Slf4j
+public class NotificationChannel {
+
+    private record Provider(NotificationGateway gateway, CircuitBreaker circuitBreaker) {}
+
+    private static final long RESUBMIT_RETRY_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /** One message; {@code provider} is the index of the next provider to try. */
+    private static final class Outbound {
+        private final String recipient;
+        private final String message;
+        private final CompletableFuture<Boolean> result = new CompletableFuture<>();
+        private int provider;
+
+        private Outbound(String recipient, String message) {
+            this.recipient = recipient;
+            this.message = message;
+        }
+    }
+
+    private final NotificationType type;
+    private final NotificationDispatcher dispatcher;
+    private final List<Provider> providers;
+    private final NotificationRateLimiter rateLimiter;
+    private final int maxDeferred;
+    private final Map<String, ArrayDeque<Outbound>> deferred = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService timer;
+
+    NotificationChannel(NotificationType type, NotificationDispatcher dispatcher,
+                        List<NotificationGateway> gateways, List<CircuitBreaker> circuitBreakers,
+                        NotificationRateLimiter rateLimiter, int maxDeferred) {
+        this.type = type;
+        this.dispatcher = dispatcher;
+        this.providers = new ArrayList<>();
+        for (int i = 0; i < gateways.size(); i++) {
+            providers.add(new Provider(gateways.get(i), circuitBreakers.get(i)));
+        }
+        this.rateLimiter = rateLimiter;
+        this.maxDeferred = maxDeferred;
+        String threadName = type.name().toLowerCase() + "-ratelimit";
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public NotificationType getType() {
+        return type;
+    }
+
+    public int queueDepth() {
+        return dispatcher.queueDepth();
+    }
+
+    /**
+     * Runs on the recipient's lane of this channel. The future completes with false (or fails,
+     * when the channel's lanes are full) if no provider accepted the message.
+     */
+    public CompletableFuture<Boolean> send(String recipient, String message) {
+        Outbound send = new Outbound(recipient, message);
+        dispatcher.submit(recipient, () -> {
+            enqueue(send);
+            return null;
+        }).exceptionally(e -> {
+            send.result.completeExceptionally(e);
+            return null;
+        });
+        return send.result;
+    }
+
+    /** On the recipient's lane. */
+    private void enqueue(Outbound send) {
+        ArrayDeque<Outbound> waiting = deferred.get(send.recipient);
+        if (waiting != null) {
+            if (waiting.size() >= maxDeferred) {
+                send.result.completeExceptionally(new RejectedExecutionException(
+                        type + " rate limit backlog for " + send.recipient + " is full"));
+                return;
+            }
+            // Behind earlier messages to this recipient that are still waiting for a token
+            waiting.add(send);
+            rateLimiter.waitStarted();
+            return;
+        }
+        long wait = attempt(send);
+        if (wait > 0) {
+            waiting = new ArrayDeque<>();
+            waiting.add(send);
+            deferred.put(send.recipient, waiting);
+            rateLimiter.waitStarted();
+            resumeLater(send.recipient, wait);
+        }
+    }
+
+    /** On the recipient's lane — sends its deferred messages in order until one has to wait again. */
+    private void resume(String recipient) {
+        ArrayDeque<Outbound> waiting = deferred.get(recipient);
+        while (!waiting.isEmpty()) {
+            long wait = attempt(waiting.peek());
+            if (wait > 0) {
+                resumeLater(recipient, wait);
+                return;
+            }
+            waiting.poll();
+            rateLimiter.waitEnded();
+        }
+        deferred.remove(recipient);
+    }
+
+    private void resumeLater(String recipient, long waitNanos) {
+        timer.schedule(() -> dispatcher.submit(recipient, () -> {
+            resume(recipient);
+            return null;
+        }).exceptionally(e -> {
+            // Lane full — the deferred messages keep their place, try again shortly
+            if (!timer.isShutdown()) {
+                resumeLater(recipient, RESUBMIT_RETRY_NANOS);
+            }
+            return null;
+        }), waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Tries the providers in order, starting where a deferred attempt stopped. Returns 0 once the
+     * send is completed (delivered or not), or the nanos to wait for a rate-limit token.
+     */
+    private long attempt(Outbound send) {
+        while (send.provider < providers.size()) {
+            Provider provider = providers.get(send.provider);
+            NotificationGateway gateway = provider.gateway();
+            if (!provider.circuitBreaker().tryAcquirePermission()) {
+                log.debug(">>> {} circuit OPEN for {} — failing over", type, gateway.name());
+                send.provider++;
+                continue;
+            }
+            long wait = rateLimiter.tryAcquire(gateway.name(), type, send.recipient);
+            if (wait > 0) {
+                provider.circuitBreaker().releasePermission();
+                return wait;
+            }
+            if (trySend(provider, send.recipient, send.message)) {
+                send.result.complete(true);
+                return 0;
+            }
+            send.provider++;
+        }
+        send.result.complete(false);
+        return 0;
+    }
+
+    private boolean trySend(Provider provider, String recipient, String message) {
+        NotificationGateway gateway = provider.gateway();
+        long start = System.nanoTime();
+        try {
+            if (gateway.send(recipient, message)) {
+                provider.circuitBreaker().onSuccess(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return true;
+            }
+            provider.circuitBreaker().onError(System.nanoTime() - start, TimeUnit.NANOSECONDS,
+                    new RuntimeException(gateway.name() + " rejected the message"));
+        } catch (RuntimeException e) {
+            provider.circuitBreaker().onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+        }
+        log.warn(">>> {} send via {} failed for {}", type, gateway.name(), recipient);
+        return false;
+    }
+
+    void shutdown() throws InterruptedException {
+        timer.shutdownNow();
+        dispatcher.shutdown();
+        // Lanes have stopped — nobody else touches the deferred queues now
+        for (ArrayDeque<Outbound> waiting : deferred.values()) {
+            for (Outbound send : waiting) {
+                send.result.completeExceptionally(new RejectedExecutionException(type + " channel shut down"));
+            }
+        }
+    }
+}
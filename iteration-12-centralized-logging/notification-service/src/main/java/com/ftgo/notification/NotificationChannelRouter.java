@@ -0,0 +1,126 @@
+package com.ftgo.notification;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Fans one event out to the consumer's preferred channels.
+ *
+ * Each channel is configured independently under ftgo.notification.channels.<sms|email|push>:
+ *   primary / secondary        — provider names (NotificationGateway.name())
+ *   lanes / lane-queue-capacity — size of the channel's own worker pool
+ *   max-queue-wait-ms          — how long a full channel may hold up the Kafka consumer (0 = never)
+ *   max-deferred               — rate-limited messages that may wait per recipient (default: lane-queue-capacity)
+ *
+ * Circuit breakers are resilience4j instances named "<channel>-<provider>"
+ * (e.g. resilience4j.circuitbreaker.instances.email-sendgrid.*), falling back to the default config.
+ *
+ * Metric: notification.dispatch.queue.depth{channel=...}
+ */
+@Slf4j
+@Component
+public class NotificationChannelRouter {
+
+    private static final String PREFIX = "ftgo.notification.channels.";
+
+    private final Map<NotificationType, NotificationChannel> channels = new EnumMap<>(NotificationType.class);
+    private final List<NotificationType> defaultChannels;
+
+    public NotificationChannelRouter(Environment environment,
+                                     List<NotificationGateway> gateways,
+                                     CircuitBreakerRegistry circuitBreakerRegistry,
+                                     NotificationRateLimiter rateLimiter,
+                                     MeterRegistry meterRegistry) {
+        Map<String, NotificationGateway> gatewaysByName = new HashMap<>();
+        for (NotificationGateway gateway : gateways) {
+            gatewaysByName.put(gateway.name(), gateway);
+        }
+
+        for (NotificationType type : NotificationType.values()) {
+            String key = PREFIX + type.name().toLowerCase() + ".";
+            List<NotificationGateway> providers = new ArrayList<>();
+            List<CircuitBreaker> circuitBreakers = new ArrayList<>();
+            for (String role : List.of("primary", "secondary")) {
+                String providerName = environment.getProperty(key + role);
+                if (providerName == null) {
+                    continue;
+                }
+                NotificationGateway gateway = gatewaysByName.get(providerName);
+                if (gateway == null) {
+                    throw new RuntimeException("Unknown notification provider '" + providerName + "' for " + key + role);
+                }
+                providers.add(gateway);
+                circuitBreakers.add(circuitBreakerRegistry.circuitBreaker(
+                        type.name().toLowerCase() + "-" + providerName));
+            }
+            if (providers.isEmpty()) {
+                continue;
+            }
+
+            int laneQueueCapacity = environment.getProperty(key + "lane-queue-capacity", Integer.class, 100);
+            NotificationDispatcher dispatcher = new NotificationDispatcher(type.name().toLowerCase(),
+                    environment.getProperty(key + "lanes", Integer.class, 16),
+                    laneQueueCapacity,
+                    environment.getProperty(key + "max-queue-wait-ms", Long.class, 0L));
+            NotificationChannel channel = new NotificationChannel(type, dispatcher, providers, circuitBreakers, rateLimiter,
+                    environment.getProperty(key + "max-deferred", Integer.class, laneQueueCapacity));
+            channels.put(type, channel);
+
+            Gauge.builder("notification.dispatch.queue.depth", channel, NotificationChannel::queueDepth)
+                    .tag("channel", type.name())
+                    .register(meterRegistry);
+            log.info("Notification channel {} → {}", type, providers.stream().map(NotificationGateway::name).toList());
+        }
+
+        this.defaultChannels = parseChannels(environment.getProperty(PREFIX + "default", "SMS"));
+    }
+
+    /**
+     * The consumer's preferred channels, or ftgo.notification.channels.default when the event has none.
+     * Channels without a configured provider are skipped.
+     */
+    public List<NotificationChannel> channelsFor(List<NotificationType> preferred) {
+        List<NotificationType> types = preferred == null || preferred.isEmpty() ? defaultChannels : preferred;
+        List<NotificationChannel> result = new ArrayList<>();
+        for (NotificationType type : types) {
+            NotificationChannel channel = channels.get(type);
+            if (channel != null) {
+                result.add(channel);
+            }
+        }
+        return result;
+    }
+
+    public NotificationChannel channel(NotificationType type) {
+        NotificationChannel channel = channels.get(type);
+        if (channel == null) {
+            throw new RuntimeException("Notification channel not configured: " + type);
+        }
+        return channel;
+    }
+
+    static List<NotificationType> parseChannels(String value) {
+        List<NotificationType> types = new ArrayList<>();
+        for (String name : value.split(",")) {
+            if (!name.isBlank()) {
+                types.add(NotificationType.valueOf(name.trim().toUpperCase()));
+            }
+        }
+        return types;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        for (NotificationChannel channel : channels.values()) {
+            channel.shutdown();
+        }
+    }
+}
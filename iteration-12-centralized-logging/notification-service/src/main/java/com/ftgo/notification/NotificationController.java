@@ -1,6 +1,7 @@
 package com.ftgo.notification;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -9,12 +10,25 @@ import java.util.List;
 @RequestMapping("/api/notifications")
 public class NotificationController {
 
+    private static final int MAX_PAGE_SIZE = 500;
+
     @Autowired
     private NotificationRepository notificationRepository;
 
+    /**
+     * Keyset (cursor) pagination instead of an unbounded findAll():
+     *   GET /api/notifications?limit=100             → first page
+     *   GET /api/notifications?afterId=4711&limit=100 → next page
+     * Unlike OFFSET paging, every page costs the same — the DB seeks straight to afterId.
+     */
     @GetMapping
-    public List<Notification> getAllNotifications() {
-        return notificationRepository.findAll();
+    public NotificationPage getAllNotifications(@RequestParam(defaultValue = "0") Long afterId,
+                                                @RequestParam(defaultValue = "100") int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<Notification> notifications =
+                notificationRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.ofSize(pageSize));
+        Long nextAfterId = notifications.size() < pageSize ? null : notifications.get(notifications.size() - 1).getId();
+        return new NotificationPage(notifications, nextAfterId);
     }
 
     @GetMapping("/order/{orderId}")
@@ -0,0 +1,96 @@
+package com.ftgo.notification;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Concurrent send engine with per-recipient ordering.
+ *
+ * Before: OrderEventConsumer called Twilio inline — one 300ms send at a time per partition
+ *   → ~3 messages/sec per partition.
+ *
+ * After: sends are spread over N "lanes". Each lane is a single worker thread with a bounded
+ * queue, and a recipient always hashes to the same lane:
+ *
+ *   recipient "9876543210" ──hash──▶ lane 17 ──▶ [msg1, msg2, msg3] (in order)
+ *   recipient "9123456789" ──hash──▶ lane 42 ──▶ [msg1]              (in parallel)
+ *
+ * So two messages to the same phone are never reordered, while different recipients run in
+ * parallel (64 lanes × ~3 sends/sec ≈ 200 sends/sec per instance with the 300ms mock).
+ *
+ * Every NotificationChannel owns its own dispatcher, so a slow email provider only fills
+ * the email lanes — SMS lanes keep draining.
+ *
+ * Backpressure: when a lane's queue is full, submit() blocks the Kafka consumer thread for up
+ * to maxQueueWaitMs instead of running the task on the caller (which would break ordering).
+ * After that the send is rejected and the returned future fails — the caller parks it on the
+ * retry topic. Channels that must never hold up the others use a wait of 0.
+ */
+@Slf4j
+public class NotificationDispatcher {
+
+    private final String name;
+    private final long maxQueueWaitMs;
+    private final ThreadPoolExecutor[] lanes;
+
+    public NotificationDispatcher(String name, int laneCount, int queueCapacity, long maxQueueWaitMs) {
+        this.name = name;
+        this.maxQueueWaitMs = maxQueueWaitMs;
+        this.lanes = new ThreadPoolExecutor[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            String threadName = name + "-lane-" + i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    r -> new Thread(r, threadName),
+                    this::waitUntilQueued);
+        }
+        log.info("NotificationDispatcher '{}' started with {} lanes (queue capacity {}, max queue wait {}ms)",
+                name, laneCount, queueCapacity, maxQueueWaitMs);
+    }
+
+    public <T> CompletableFuture<T> submit(String recipient, Supplier<T> send) {
+        try {
+            return CompletableFuture.supplyAsync(send, laneFor(recipient));
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    public int queueDepth() {
+        int depth = 0;
+        for (ThreadPoolExecutor lane : lanes) {
+            depth += lane.getQueue().size();
+        }
+        return depth;
+    }
+
+    private Executor laneFor(String recipient) {
+        int hash = recipient == null ? 0 : recipient.hashCode();
+        return lanes[Math.floorMod(hash, lanes.length)];
+    }
+
+    private void waitUntilQueued(Runnable task, ThreadPoolExecutor lane) {
+        if (lane.isShutdown()) {
+            throw new RejectedExecutionException("Notification lane is shut down");
+        }
+        try {
+            if (!lane.getQueue().offer(task, maxQueueWaitMs, TimeUnit.MILLISECONDS)) {
+                throw new RejectedExecutionException("Notification lane '" + name + "' is full");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for a notification lane", e);
+        }
+    }
+
+    public void shutdown() throws InterruptedException {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+}
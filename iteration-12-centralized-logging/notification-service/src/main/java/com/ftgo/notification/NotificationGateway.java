@@ -0,0 +1,7 @@
+package com.ftgo.notification;
+
+public interface NotificationGateway {
+    /** Provider name — used to pick the provider's rate limit. */
+    String name();
+    boolean send(String recipient, String message);
+}
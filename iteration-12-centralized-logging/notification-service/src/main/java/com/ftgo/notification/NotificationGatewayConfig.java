@@ -0,0 +1,27 @@
+package com.ftgo.notification;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Secondary (failover) providers, one per channel. Primaries are the @Service mocks.
+ * NotificationChannelRouter picks providers by name() via ftgo.notification.channels.<type>.*
+ */
+@Configuration
+public class NotificationGatewayConfig {
+
+    @Bean
+    public NotificationGateway smsBackupGateway() {
+        return new MockBackupNotificationGateway("sms-backup");
+    }
+
+    @Bean
+    public NotificationGateway emailBackupGateway() {
+        return new MockBackupNotificationGateway("email-backup");
+    }
+
+    @Bean
+    public NotificationGateway pushBackupGateway() {
+        return new MockBackupNotificationGateway("push-backup");
+    }
+}
@@ -0,0 +1,12 @@
+package com.ftgo.notification;
+
+import java.util.List;
+
+/**
+ * One keyset page of notifications. Pass nextAfterId back as ?afterId= for the next page;
+ * it is null on the last page.
+ */
+public record NotificationPage(
+    List<Notification> notifications,
+    Long nextAfterId
+) {}
@@ -0,0 +1,141 @@
+package com.ftgo.notification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-provider and per-recipient throttling for outbound notifications.
+ *
+ * Real SMS/email providers throttle us (e.g. Twilio: N messages/sec per account), and a single
+ * consumer should not get a burst of 10 texts when a Kafka backlog drains. Each send needs a
+ * token from:
+ *   - its provider's bucket  (ftgo.notification.rate-limit.providers.<name>.*, default provider.*)
+ *   - its recipient's bucket (ftgo.notification.rate-limit.recipient.*, one map per channel type)
+ *
+ * tryAcquire() checks both buckets before taking from either, so a send that has to wait holds no
+ * token meanwhile. It never blocks: it returns the wait and NotificationChannel defers the send
+ * (the lane moves on to other recipients) — the message is DELAYED, never rejected.
+ *
+ * The hot path allocates nothing: buckets are looked up by provider name and by recipient in the
+ * channel type's own map (no composite string key), and created only on a miss.
+ *
+ * Metrics (GET /actuator/metrics/...):
+ *   notification.dispatch.queue.depth   — messages queued per channel (NotificationChannelRouter)
+ *   notification.ratelimit.waiting      — sends currently deferred for a token
+ *   notification.ratelimit.delayed      — sends that had to wait at all
+ */
+@Slf4j
+@Component
+public class NotificationRateLimiter {
+
+    private static final String PREFIX = "ftgo.notification.rate-limit.";
+
+    private final Environment environment;
+    private final double defaultProviderRate;
+    private final int defaultProviderBurst;
+    private final double recipientRate;
+    private final int recipientBurst;
+
+    private final Map<String, TokenBucket> providerBuckets = new ConcurrentHashMap<>();
+    private final Map<NotificationType, Map<String, TokenBucket>> recipientBuckets = new EnumMap<>(NotificationType.class);
+
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Counter delayed;
+
+    public NotificationRateLimiter(Environment environment,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${" + PREFIX + "provider.permits-per-second:50}") double defaultProviderRate,
+                                   @Value("${" + PREFIX + "provider.burst:50}") int defaultProviderBurst,
+                                   @Value("${" + PREFIX + "recipient.permits-per-second:1}") double recipientRate,
+                                   @Value("${" + PREFIX + "recipient.burst:3}") int recipientBurst) {
+        this.environment = environment;
+        this.defaultProviderRate = defaultProviderRate;
+        this.defaultProviderBurst = defaultProviderBurst;
+        this.recipientRate = recipientRate;
+        this.recipientBurst = recipientBurst;
+        for (NotificationType type : NotificationType.values()) {
+            recipientBuckets.put(type, new ConcurrentHashMap<>());
+        }
+
+        Gauge.builder("notification.ratelimit.waiting", waiting, AtomicInteger::get)
+                .register(meterRegistry);
+        this.delayed = Counter.builder("notification.ratelimit.delayed").register(meterRegistry);
+    }
+
+    /**
+     * Takes a token from both the provider and the recipient bucket and returns 0 if both have
+     * one; otherwise takes nothing and returns the nanos to wait before trying again.
+     */
+    public long tryAcquire(String provider, NotificationType type, String recipient) {
+        TokenBucket providerBucket = providerBuckets.get(provider);
+        if (providerBucket == null) {
+            providerBucket = providerBuckets.computeIfAbsent(provider, this::newProviderBucket);
+        }
+        Map<String, TokenBucket> byRecipient = recipientBuckets.get(type);
+        TokenBucket recipientBucket = byRecipient.get(recipient);
+        if (recipientBucket == null) {
+            recipientBucket = byRecipient.computeIfAbsent(recipient, this::newRecipientBucket);
+        }
+
+        long wait = Math.max(providerBucket.delay(), recipientBucket.delay());
+        if (wait > 0) {
+            return wait;
+        }
+        // The provider bucket is shared by every lane — another one may have taken the last token
+        wait = providerBucket.tryAcquire();
+        if (wait > 0) {
+            return wait;
+        }
+        wait = recipientBucket.tryAcquire();
+        if (wait > 0) {
+            providerBucket.refund();
+        }
+        return wait;
+    }
+
+    /** A send started waiting for a token (notification.ratelimit.*). */
+    void waitStarted() {
+        delayed.increment();
+        waiting.incrementAndGet();
+    }
+
+    /** A deferred send got its tokens, or gave up. */
+    void waitEnded() {
+        waiting.decrementAndGet();
+    }
+
+    /**
+     * Full buckets are indistinguishable from new ones, so drop them to keep the map bounded
+     * by "recipients messaged recently" rather than "recipients ever messaged".
+     */
+    @Scheduled(fixedDelayString = "${" + PREFIX + "eviction-interval-ms:60000}")
+    public void evictIdleRecipients() {
+        for (Map<String, TokenBucket> byRecipient : recipientBuckets.values()) {
+            byRecipient.values().removeIf(TokenBucket::isIdle);
+        }
+    }
+
+    private TokenBucket newProviderBucket(String provider) {
+        double rate = environment.getProperty(PREFIX + "providers." + provider + ".permits-per-second",
+                Double.class, defaultProviderRate);
+        int burst = environment.getProperty(PREFIX + "providers." + provider + ".burst",
+                Integer.class, defaultProviderBurst);
+        log.info("Rate limit for provider '{}': {} msg/s, burst {}", provider, rate, burst);
+        return new TokenBucket(rate, burst);
+    }
+
+    private TokenBucket newRecipientBucket(String recipient) {
+        return new TokenBucket(recipientRate, recipientBurst);
+    }
+}
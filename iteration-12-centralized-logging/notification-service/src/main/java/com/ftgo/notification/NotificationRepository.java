@@ -1,8 +1,19 @@
 package com.ftgo.notification;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     List<Notification> findByOrderId(Long orderId);
+
+    /** Keyset page: WHERE id > :afterId ORDER BY id LIMIT n — a PK range scan, however deep the page. */
+    List<Notification> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable limit);
+
+    @Query("select n.id from Notification n where n.sentAt < :cutoff order by n.id")
+    List<Long> findIdsSentBefore(@Param("cutoff") LocalDateTime cutoff, Pageable limit);
 }
@@ -0,0 +1,115 @@
+package com.ftgo.notification;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Keeps the hot notification tables small.
+ *
+ * Every order adds rows to notification and processed_event, and nothing ever removed them.
+ * This job deletes rows older than the retention age in SMALL batches:
+ *
+ *   loop:  SELECT id ... WHERE sentAt < cutoff ORDER BY id LIMIT 500   (uses idx_notification_sent_at)
+ *          DELETE ... WHERE id IN (...)                                 (one short transaction)
+ *          pause
+ *
+ * One huge DELETE would hold locks and a giant transaction while consumers are inserting;
+ * short batches with a pause in between keep the write path unaffected.
+ *
+ * processed_event only has to outlive Kafka's own retention (a redelivery can't be older than
+ * the log), so its age is configured separately and can be much shorter.
+ *
+ * The purge can run for minutes (it sleeps between batches), so it has its own single-thread
+ * "notification-retention" scheduler — on Spring's shared scheduler thread it would stall every
+ * other @Scheduled task (status coalescing, rate-limiter eviction) for that long.
+ */
+@Slf4j
+@Component
+public class NotificationRetentionJob {
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private ProcessedEventRepository processedEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${ftgo.notification.retention.notification-max-age:30d}")
+    private Duration notificationMaxAge;
+
+    @Value("${ftgo.notification.retention.processed-event-max-age:8d}")
+    private Duration processedEventMaxAge;
+
+    @Value("${ftgo.notification.retention.batch-size:500}")
+    private int batchSize;
+
+    @Value("${ftgo.notification.retention.pause-between-batches-ms:50}")
+    private long pauseMillis;
+
+    @Value("${ftgo.notification.retention.cron:0 15 3 * * *}")
+    private String cron;
+
+    private final ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+
+    @PostConstruct
+    void start() {
+        scheduler.setThreadNamePrefix("notification-retention-");
+        scheduler.initialize();
+        scheduler.schedule(this::purge, new CronTrigger(cron));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdown(); // interrupts a running purge between batches
+    }
+
+    public void purge() {
+        LocalDateTime now = LocalDateTime.now();
+        int notifications = purge(now.minus(notificationMaxAge),
+                cutoff -> notificationRepository.findIdsSentBefore(cutoff, PageRequest.ofSize(batchSize)),
+                notificationRepository::deleteAllByIdInBatch);
+        int processedEvents = purge(now.minus(processedEventMaxAge),
+                cutoff -> processedEventRepository.findIdsProcessedBefore(cutoff, PageRequest.ofSize(batchSize)),
+                processedEventRepository::deleteAllByIdInBatch);
+        log.info(">>> Retention purge: {} notification(s), {} processed event(s) deleted", notifications, processedEvents);
+    }
+
+    private int purge(LocalDateTime cutoff, Function<LocalDateTime, List<Long>> findBatch, Consumer<List<Long>> deleteBatch) {
+        int deleted = 0;
+        while (true) {
+            Integer batch = transactionTemplate.execute(status -> {
+                List<Long> ids = findBatch.apply(cutoff);
+                if (!ids.isEmpty()) {
+                    deleteBatch.accept(ids);
+                }
+                return ids.size();
+            });
+            deleted += batch;
+            if (batch < batchSize) {
+                return deleted;
+            }
+            try {
+                Thread.sleep(pauseMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return deleted;
+            }
+        }
+    }
+}
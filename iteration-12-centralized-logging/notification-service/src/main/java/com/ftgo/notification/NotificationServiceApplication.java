@@ -2,6 +2,7 @@ package com.ftgo.notification;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * FTGO Notification Service — Extracted Microservice
@@ -10,10 +11,12 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * It is completely ASYNCHRONOUS — the monolith publishes an event and moves on.
  * This service processes the event whenever it's ready (fire-and-forget).
  *
- * Kafka topic consumed: "order-events"
- * Events handled: OrderCreated
+ * Kafka topics consumed: "order-events" (batch dispatch), "order-events-failed" (retries),
+ *                        "kitchen-events", "delivery-events" (coalesced status updates)
+ * Events handled: OrderCreated, TicketStatusChanged, DeliveryStatusChanged
  */
 @SpringBootApplication
+@EnableScheduling
 public class NotificationServiceApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,43 @@
+package com.ftgo.notification;
+
+import java.util.List;
+
+/**
+ * Every message notification-service can send, with its placeholders and the built-in
+ * English text used when config-server has no override
+ * (ftgo.notification.templates.<key>.<locale>, ftgo.notification.templates.<key>.version).
+ */
+public enum NotificationTemplate {
+
+    ORDER_CONFIRMED("order-confirmed",
+            "Hi {consumerName}, your order #{orderId} from {restaurantName} (total: Rs.{totalAmount}) has been confirmed!",
+            "consumerName", "orderId", "restaurantName", "totalAmount"),
+    ORDER_ACCEPTED("order-accepted", "Your order #{orderId} has been accepted by the restaurant.", "orderId"),
+    ORDER_PREPARING("order-preparing", "Your order #{orderId} is being prepared.", "orderId"),
+    ORDER_READY("order-ready", "Your order #{orderId} is ready for pickup.", "orderId"),
+    COURIER_ASSIGNED("courier-assigned", "Your order #{orderId} has been assigned a courier.", "orderId"),
+    ORDER_PICKED_UP("order-picked-up", "Your order #{orderId} is on its way.", "orderId"),
+    ORDER_DELIVERED("order-delivered", "Your order #{orderId} has been delivered. Enjoy your meal!", "orderId");
+
+    private final String key;
+    private final String defaultText;
+    private final List<String> parameters;
+
+    NotificationTemplate(String key, String defaultText, String... parameters) {
+        this.key = key;
+        this.defaultText = defaultText;
+        this.parameters = List.of(parameters);
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getDefaultText() {
+        return defaultText;
+    }
+
+    public List<String> getParameters() {
+        return parameters;
+    }
+}
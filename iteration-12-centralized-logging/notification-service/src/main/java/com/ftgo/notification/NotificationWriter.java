@@ -0,0 +1,155 @@
+package com.ftgo.notification;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind buffer for Notification rows.
+ *
+ * Before: one notificationRepository.save() per message — one INSERT, one commit, and with
+ *   IDENTITY ids Hibernate could not batch the inserts at all.
+ *
+ * After: sent notifications (from every listener thread) are queued here and flushed
+ *   in ONE transaction when either
+ *     - the buffer reaches batch-size rows, or
+ *     - flush-interval-ms has passed since the last flush.
+ *   With sequence ids + hibernate.jdbc.batch_size, a flush of 100 rows is a couple of JDBC batches.
+ *
+ * Crash safety: write() returns a future that completes only after the flush commits.
+ * OrderEventConsumer waits on those futures before returning, and the container commits Kafka
+ * offsets only after the listener returns — so a crash loses buffered rows but never their offsets.
+ * A failed batch is retried row by row, so one bad row (e.g. an event whose processed_event row
+ * already exists) fails only its own future, not every caller's.
+ * Because listener threads block on that future, the interval flush runs on the writer's OWN
+ * "notification-writer" thread — never behind slow jobs on Spring's shared scheduler thread.
+ */
+@Slf4j
+@Component
+public class NotificationWriter {
+
+    private record PendingWrite(String consumerName, Notification notification, String eventId,
+                                CompletableFuture<Void> flushed) {}
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private IdempotentConsumer idempotentConsumer;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+    private final ScheduledExecutorService flusher;
+
+    private final Object lock = new Object();
+    private List<PendingWrite> buffer = new ArrayList<>();
+
+    public NotificationWriter(@Value("${ftgo.notification.writer.batch-size:100}") int batchSize,
+                              @Value("${ftgo.notification.writer.flush-interval-ms:100}") long flushIntervalMs) {
+        this.batchSize = batchSize;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "notification-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushDue, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public CompletableFuture<Void> write(String consumerName, Notification notification, String eventId) {
+        PendingWrite write = new PendingWrite(consumerName, notification, eventId, new CompletableFuture<>());
+        List<PendingWrite> full = null;
+        synchronized (lock) {
+            buffer.add(write);
+            if (buffer.size() >= batchSize) {
+                full = drain();
+            }
+        }
+        if (full != null) {
+            flush(full);
+        }
+        return write.flushed();
+    }
+
+    public void flushDue() {
+        List<PendingWrite> due;
+        synchronized (lock) {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            due = drain();
+        }
+        flush(due);
+    }
+
+    private List<PendingWrite> drain() {
+        List<PendingWrite> drained = buffer;
+        buffer = new ArrayList<>(batchSize);
+        return drained;
+    }
+
+    private void flush(List<PendingWrite> writes) {
+        try {
+            commit(writes);
+            writes.forEach(write -> write.flushed().complete(null));
+            log.info(">>> Flushed {} notification(s)", writes.size());
+        } catch (RuntimeException e) {
+            if (writes.size() == 1) {
+                failed(writes.get(0), e);
+                return;
+            }
+            // One bad row rolls back the whole batch — retry row by row so it fails alone
+            log.warn("Flush of {} notification(s) failed, retrying one by one: {}", writes.size(), e.getMessage());
+            for (PendingWrite write : writes) {
+                write.notification().setId(null); // assigned by the rolled-back insert
+                try {
+                    commit(List.of(write));
+                    write.flushed().complete(null);
+                } catch (RuntimeException single) {
+                    failed(write, single);
+                }
+            }
+        }
+    }
+
+    private void commit(List<PendingWrite> writes) {
+        transactionTemplate.executeWithoutResult(status -> {
+            notificationRepository.saveAll(writes.stream().map(PendingWrite::notification).toList());
+            for (PendingWrite write : writes) {
+                idempotentConsumer.markProcessed(write.consumerName(), write.eventId());
+            }
+        });
+    }
+
+    private void failed(PendingWrite write, RuntimeException e) {
+        if (e instanceof DataIntegrityViolationException
+                && idempotentConsumer.isDuplicate(write.consumerName(), write.eventId())) {
+            // processed_event already has this event — an earlier delivery recorded it, so this
+            // replay's row is dropped and the event counts as done
+            log.info(">>> Event {} already recorded for {} — notification row dropped",
+                    write.eventId(), write.consumerName());
+            write.flushed().complete(null);
+            return;
+        }
+        log.error("Failed to flush notification for event {}: {}", write.eventId(), e.getMessage(), e);
+        write.flushed().completeExceptionally(e);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        flushDue();
+    }
+}
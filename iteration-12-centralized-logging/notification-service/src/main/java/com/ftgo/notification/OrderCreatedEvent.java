@@ -3,6 +3,7 @@ package com.ftgo.notification;
 import lombok.*;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 /**
  * Event published by the monolith when an order is created.
@@ -13,9 +14,15 @@ import java.math.BigDecimal;
  */
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @ToString
 public class OrderCreatedEvent {
+    /** Unique per publish — consumers dedupe on this (Idempotent Consumer). */
+    private String eventId;
     private Long orderId;
     private String consumerName;
     private String consumerContact;
     private String restaurantName;
     private BigDecimal totalAmount;
+    /** Optional — when absent, ftgo.notification.channels.default decides the channels. */
+    private List<NotificationType> preferredChannels;
+    /** Optional — consumer's locale (e.g. "hi-IN"); ftgo.notification.default-locale when absent. */
+    private String locale;
 }
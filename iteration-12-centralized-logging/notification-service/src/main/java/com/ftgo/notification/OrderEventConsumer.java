@@ -1,12 +1,24 @@
 package com.ftgo.notification;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.DltHandler;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.RetryableTopic;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.retry.annotation.Backoff;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Kafka consumer — listens for OrderCreated events and sends notifications.
@@ -18,43 +30,198 @@ import java.time.LocalDateTime;
  *
  * Compare this to iteration 0 (monolith), where the notification was SYNCHRONOUS:
  * the user had to wait for the SMS to "send" before getting their order confirmation.
+ *
+ * CONCURRENT DISPATCH (batch listener):
+ *   Each poll of order-events is handled as a batch. Every event is fanned out to the consumer's
+ *   channels (NotificationChannelRouter) — each channel sends on its own per-recipient lanes,
+ *   so a slow email provider never holds up SMS. The listener waits for all sends and for
+ *   NotificationWriter to flush the sent rows, and only then returns — which is when the
+ *   container commits the offsets. A crash mid-batch therefore re-delivers the batch;
+ *   already-persisted (event, channel) pairs are skipped.
+ *
+ * IDEMPOTENCY:
+ *   After a rebalance Kafka re-delivers the uncommitted tail of a batch. Each event carries an
+ *   eventId; IdempotentConsumer skips "<eventId>:<channel>" keys already recorded in processed_event,
+ *   and the key is written in the same transaction as the Notification row — so a replay never
+ *   resends the SMS, and a retry after a partial failure only resends the channels that failed.
+ *
+ * NON-BLOCKING RETRIES (@RetryableTopic):
+ *   Failed sends are forwarded to order-events-failed with the failed channel in a header, and
+ *   retried (for that channel only) by handleFailed() via
+ *   order-events-failed-retry-0/1/2 (1s, 5s, 25s) and finally order-events-failed-dlt.
+ *   The batch listener never waits on a retry. Unparseable JSON goes straight to the DLT.
+ *   Re-drive with POST /api/dlt/order-events-failed/replay.
  */
 @Slf4j
 @Component
 public class OrderEventConsumer {
 
+    private static final String CONSUMER_NAME = "OrderEventConsumer";
+    private static final String FAILED_TOPIC = "order-events-failed";
+    private static final String DLT_TOPIC = FAILED_TOPIC + "-dlt";
+    private static final String CHANNEL_HEADER = "ftgo-notification-channel";
+
+    private record PendingSend(ConsumerRecord<String, String> record, NotificationType channel, String eventId,
+                               Notification notification, CompletableFuture<Boolean> sent) {}
+
+    @Autowired
+    private NotificationChannelRouter notificationChannelRouter;
+
+    @Autowired
+    private NotificationWriter notificationWriter;
+
     @Autowired
-    private NotificationRepository notificationRepository;
+    private MessageTemplateRegistry messageTemplateRegistry;
+
+    @Autowired
+    private IdempotentConsumer idempotentConsumer;
+
+    @Autowired
+    private KafkaTemplate<String, String> kafkaTemplate;
 
     private final ObjectMapper objectMapper = new ObjectMapper();
 
-    @KafkaListener(topics = "order-events", groupId = "notification-service")
-    public void handleOrderCreated(String message) {
-        try {
-            OrderCreatedEvent event = objectMapper.readValue(message, OrderCreatedEvent.class);
+    @KafkaListener(topics = "order-events", groupId = "notification-service", batch = "true")
+    public void handleOrderCreated(List<ConsumerRecord<String, String>> records) {
+        List<PendingSend> sends = new ArrayList<>();
+        List<CompletableFuture<?>> forwards = new ArrayList<>();
+        Set<String> seenInBatch = new HashSet<>();
+
+        for (ConsumerRecord<String, String> record : records) {
+            OrderCreatedEvent event;
+            try {
+                event = objectMapper.readValue(record.value(), OrderCreatedEvent.class);
+            } catch (JsonProcessingException e) {
+                log.error(">>> Unparseable OrderCreated event {}-{}@{} — sending to {}",
+                        record.topic(), record.partition(), record.offset(), DLT_TOPIC);
+                forwards.add(kafkaTemplate.send(DLT_TOPIC, record.key(), record.value()));
+                continue;
+            }
             log.info(">>> Received OrderCreated event: {}", event);
 
-            // Simulate sending SMS (like the old MockTwilioNotificationGateway)
-            String smsMessage = "Hi " + event.getConsumerName()
-                    + ", your order #" + event.getOrderId()
-                    + " from " + event.getRestaurantName()
-                    + " (total: Rs." + event.getTotalAmount() + ") has been confirmed!";
-
-            log.info(">>> Mock Twilio: Sending to {}: {}", event.getConsumerContact(), smsMessage);
-            Thread.sleep(300); // Simulate external API latency
-
-            // Save notification record
-            Notification notification = new Notification();
-            notification.setOrderId(event.getOrderId());
-            notification.setType(NotificationType.SMS);
-            notification.setRecipient(event.getConsumerContact());
-            notification.setMessage(smsMessage);
+            String eventId = IdempotentConsumer.eventIdOf(event.getEventId(), record);
+            for (NotificationChannel channel : notificationChannelRouter.channelsFor(event.getPreferredChannels())) {
+                String channelEventId = eventId + ":" + channel.getType();
+                if (!seenInBatch.add(channelEventId) || idempotentConsumer.isDuplicate(CONSUMER_NAME, channelEventId)) {
+                    continue;
+                }
+                Notification notification = toNotification(event, channel.getType());
+                if (notification == null) {
+                    continue;
+                }
+                sends.add(new PendingSend(record, channel.getType(), channelEventId, notification,
+                        channel.send(notification.getRecipient(), notification.getMessage())));
+            }
+        }
+
+        List<CompletableFuture<Void>> writes = new ArrayList<>();
+        for (PendingSend send : sends) {
+            if (Boolean.TRUE.equals(send.sent().exceptionally(e -> false).join())) {
+                send.notification().setSentAt(LocalDateTime.now());
+                writes.add(notificationWriter.write(CONSUMER_NAME, send.notification(), send.eventId()));
+            } else {
+                ConsumerRecord<String, String> record = send.record();
+                log.warn(">>> {} send failed for {}-{}@{} — forwarding to {}", send.channel(),
+                        record.topic(), record.partition(), record.offset(), FAILED_TOPIC);
+                ProducerRecord<String, String> failed = new ProducerRecord<>(FAILED_TOPIC, record.key(), record.value());
+                failed.headers().add(CHANNEL_HEADER, send.channel().name().getBytes(StandardCharsets.UTF_8));
+                forwards.add(kafkaTemplate.send(failed));
+            }
+        }
+
+        // Offsets are committed when this method returns — wait until every sent notification
+        // has been flushed by the write-behind buffer and every failure is safely parked
+        CompletableFuture.allOf(writes.toArray(new CompletableFuture[0])).join();
+        CompletableFuture.allOf(forwards.toArray(new CompletableFuture[0])).join();
+        log.info(">>> Batch of {}: {} notification(s) sent and saved", records.size(), writes.size());
+    }
+
+    @RetryableTopic(
+            attempts = "4",
+            backoff = @Backoff(delay = 1000, multiplier = 5.0),
+            exclude = JsonProcessingException.class)
+    @KafkaListener(topics = FAILED_TOPIC, groupId = "notification-service")
+    public void handleFailed(ConsumerRecord<String, String> record) throws JsonProcessingException {
+        OrderCreatedEvent event = objectMapper.readValue(record.value(), OrderCreatedEvent.class);
+        log.info(">>> Retrying OrderCreated event: {}", event);
+
+        // No header (e.g. parked before channels existed) → retry every channel; the dedupe skips delivered ones
+        NotificationType failedChannel = failedChannelOf(record);
+        List<NotificationChannel> channels = failedChannel == null
+                ? notificationChannelRouter.channelsFor(event.getPreferredChannels())
+                : List.of(notificationChannelRouter.channel(failedChannel));
+
+        String eventId = IdempotentConsumer.eventIdOf(event.getEventId(), record);
+        List<NotificationType> undelivered = new ArrayList<>();
+        for (NotificationChannel channel : channels) {
+            String channelEventId = eventId + ":" + channel.getType();
+            if (idempotentConsumer.isDuplicate(CONSUMER_NAME, channelEventId)) {
+                continue;
+            }
+            Notification notification = toNotification(event, channel.getType());
+            if (notification == null) {
+                continue;
+            }
+            boolean delivered = Boolean.TRUE.equals(channel.send(notification.getRecipient(), notification.getMessage())
+                    .exceptionally(e -> false).join());
+            if (!delivered) {
+                undelivered.add(channel.getType());
+                continue;
+            }
             notification.setSentAt(LocalDateTime.now());
-            notificationRepository.save(notification);
+            notificationWriter.write(CONSUMER_NAME, notification, channelEventId).join();
+            log.info(">>> {} notification saved for order #{}", channel.getType(), event.getOrderId());
+        }
+        if (!undelivered.isEmpty()) {
+            throw new RuntimeException("No provider accepted " + undelivered + " notification for order #" + event.getOrderId());
+        }
+    }
+
+    @DltHandler
+    public void handleDeadLetter(ConsumerRecord<String, String> record,
+                                 @Header(KafkaHeaders.EXCEPTION_MESSAGE) String error) {
+        log.error(">>> DLT: OrderCreated event {}-{}@{} exhausted retries ({}). Payload: {}",
+                record.topic(), record.partition(), record.offset(), error, record.value());
+    }
+
+    private static NotificationType failedChannelOf(ConsumerRecord<String, String> record) {
+        if (record.headers().lastHeader(CHANNEL_HEADER) == null) {
+            return null;
+        }
+        return NotificationType.valueOf(
+                new String(record.headers().lastHeader(CHANNEL_HEADER).value(), StandardCharsets.UTF_8));
+    }
+
+    /** {@code null} when the consumer has no address on this channel — the channel is skipped. */
+    private Notification toNotification(OrderCreatedEvent event, NotificationType channel) {
+        String recipient = recipientFor(channel, event.getConsumerContact());
+        if (recipient == null) {
+            log.debug(">>> No {} address for order #{} — channel skipped", channel, event.getOrderId());
+            return null;
+        }
+        MessageTemplate template = messageTemplateRegistry.get(NotificationTemplate.ORDER_CONFIRMED, event.getLocale());
+        String message = template.render(event.getConsumerName(), event.getOrderId(),
+                event.getRestaurantName(), event.getTotalAmount());
+
+        Notification notification = new Notification();
+        notification.setOrderId(event.getOrderId());
+        notification.setType(channel);
+        notification.setRecipient(recipient);
+        notification.setMessage(message);
+        notification.setTemplate(template.id());
+        notification.setLocale(event.getLocale());
+        return notification;
+    }
 
-            log.info(">>> Notification saved for order #{}", event.getOrderId());
-        } catch (Exception e) {
-            log.error("Failed to process OrderCreated event: {}", e.getMessage(), e);
+    /**
+     * The event carries one contact — usually a phone number. It is an email address only if it
+     * looks like one; SMS and push (devices are registered under the phone number) need the phone.
+     */
+    static String recipientFor(NotificationType channel, String contact) {
+        if (contact == null || contact.isBlank()) {
+            return null;
         }
+        boolean email = contact.indexOf('@') > 0;
+        return (channel == NotificationType.EMAIL) == email ? contact : null;
     }
 }
@@ -0,0 +1,70 @@
+package com.ftgo.notification;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Kafka consumer — turns kitchen and delivery status changes into consumer status updates.
+ *
+ * Only the statuses a consumer cares about are forwarded; internal ones (CREATED, PENDING)
+ * are ignored. Everything else goes through StatusUpdateCoalescer, so a burst of changes
+ * for one order becomes a single message.
+ *
+ * Unparseable events are logged and skipped — a missed status update is not worth a retry chain.
+ */
+@Slf4j
+@Component
+public class OrderStatusEventConsumer {
+
+    private static final Map<String, NotificationTemplate> KITCHEN_STATUS_TEMPLATES = Map.of(
+            "ACCEPTED", NotificationTemplate.ORDER_ACCEPTED,
+            "PREPARING", NotificationTemplate.ORDER_PREPARING,
+            "READY_FOR_PICKUP", NotificationTemplate.ORDER_READY);
+
+    private static final Map<String, NotificationTemplate> DELIVERY_STATUS_TEMPLATES = Map.of(
+            "COURIER_ASSIGNED", NotificationTemplate.COURIER_ASSIGNED,
+            "PICKED_UP", NotificationTemplate.ORDER_PICKED_UP,
+            "DELIVERED", NotificationTemplate.ORDER_DELIVERED);
+
+    @Autowired
+    private StatusUpdateCoalescer statusUpdateCoalescer;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @KafkaListener(topics = "kitchen-events", groupId = "notification-service")
+    public void handleTicketStatusChanged(ConsumerRecord<String, String> record) {
+        try {
+            TicketStatusChangedEvent event = objectMapper.readValue(record.value(), TicketStatusChangedEvent.class);
+            log.info(">>> Received TicketStatusChanged event: {}", event);
+            submit(event.getOrderId(), event.getNewStatus(), KITCHEN_STATUS_TEMPLATES);
+        } catch (JsonProcessingException e) {
+            log.error(">>> Skipping unparseable kitchen event {}-{}@{}", record.topic(), record.partition(), record.offset());
+        }
+    }
+
+    @KafkaListener(topics = "delivery-events", groupId = "notification-service")
+    public void handleDeliveryStatusChanged(ConsumerRecord<String, String> record) {
+        try {
+            DeliveryStatusChangedEvent event = objectMapper.readValue(record.value(), DeliveryStatusChangedEvent.class);
+            log.info(">>> Received DeliveryStatusChanged event: {}", event);
+            submit(event.getOrderId(), event.getNewStatus(), DELIVERY_STATUS_TEMPLATES);
+        } catch (JsonProcessingException e) {
+            log.error(">>> Skipping unparseable delivery event {}-{}@{}", record.topic(), record.partition(), record.offset());
+        }
+    }
+
+    private void submit(Long orderId, String status, Map<String, NotificationTemplate> statusTemplates) {
+        NotificationTemplate template = statusTemplates.get(status);
+        if (orderId == null || template == null) {
+            return;
+        }
+        statusUpdateCoalescer.submit(orderId, status, template);
+    }
+}
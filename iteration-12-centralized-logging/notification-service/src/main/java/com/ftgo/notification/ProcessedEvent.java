@@ -0,0 +1,28 @@
+package com.ftgo.notification;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row per event a consumer has already applied.
+ *
+ * The unique (consumer, eventId) constraint is the real guard: the row is inserted in the
+ * handler's own transaction, so if two replays of the same event race, one of them fails
+ * at commit and its side effects roll back with it.
+ */
+@Entity
+@Table(name = "processed_event",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"consumer", "eventId"}),
+        indexes = @Index(name = "idx_processed_event_processed_at", columnList = "processedAt"))
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class ProcessedEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "processed_event_seq")
+    @SequenceGenerator(name = "processed_event_seq", sequenceName = "processed_event_seq", allocationSize = 50)
+    private Long id;
+    private String consumer;
+    private String eventId;
+    private LocalDateTime processedAt;
+}
@@ -0,0 +1,16 @@
+package com.ftgo.notification;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ProcessedEventRepository extends JpaRepository<ProcessedEvent, Long> {
+    boolean existsByConsumerAndEventId(String consumer, String eventId);
+
+    @Query("select p.id from ProcessedEvent p where p.processedAt < :cutoff order by p.id")
+    List<Long> findIdsProcessedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable limit);
+}
@@ -0,0 +1,165 @@
+package com.ftgo.notification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Merges rapid status changes for the same order into ONE consumer notification.
+ *
+ * A fast kitchen produces ACCEPTED → PREPARING → READY_FOR_PICKUP within seconds. Without
+ * coalescing that is three SMS (three provider calls, three charges) that the consumer reads
+ * all at once anyway. Instead, the first status change for an order opens a window:
+ *
+ *   t=0.0s  ACCEPTED          → window opens (deadline t=5s)
+ *   t=1.2s  PREPARING         → replaces pending status, suppressed++
+ *   t=3.9s  READY_FOR_PICKUP  → replaces pending status, suppressed++
+ *   t=5.0s  window closes     → ONE message: "order #42 is ready for pickup"
+ *
+ * The window is fixed from the first change (it does not slide), so a chatty order still
+ * gets an update at least every coalesce-window-ms.
+ *
+ * Delivery guarantee: status updates are best-effort. Offsets are committed once an event is
+ * in the window, so a crash loses the pending update (the OrderCreated confirmation is
+ * unaffected). Each sent update is recorded as "status:<orderId>:<status>" in processed_event,
+ * so a redelivered burst that coalesces to the same status is not sent twice.
+ *
+ * Status events carry neither the consumer's contact nor locale: both are taken from the order's
+ * earlier notifications (the OrderCreated confirmation), so an update reads in the same language.
+ *
+ * Metrics:
+ *   notification.status.received    — status changes fed into a window
+ *   notification.status.suppressed  — status changes merged away (provider calls saved)
+ *   notification.status.sent        — coalesced updates sent
+ *   notification.status.pending     — open windows
+ */
+@Slf4j
+@Component
+public class StatusUpdateCoalescer {
+
+    private static final String CONSUMER_NAME = "StatusUpdateCoalescer";
+
+    private static final class PendingUpdate {
+        final Long orderId;
+        final long deadlineMillis;
+        String status;
+        NotificationTemplate template;
+
+        PendingUpdate(Long orderId, long deadlineMillis) {
+            this.orderId = orderId;
+            this.deadlineMillis = deadlineMillis;
+        }
+    }
+
+    private final NotificationChannelRouter notificationChannelRouter;
+    private final NotificationRepository notificationRepository;
+    private final NotificationWriter notificationWriter;
+    private final IdempotentConsumer idempotentConsumer;
+    private final MessageTemplateRegistry messageTemplateRegistry;
+    private final long windowMillis;
+    private final List<NotificationType> channels;
+
+    private final Map<Long, PendingUpdate> pending = new ConcurrentHashMap<>();
+    private final Counter received;
+    private final Counter suppressed;
+    private final Counter sent;
+
+    public StatusUpdateCoalescer(NotificationChannelRouter notificationChannelRouter,
+                                 NotificationRepository notificationRepository,
+                                 NotificationWriter notificationWriter,
+                                 IdempotentConsumer idempotentConsumer,
+                                 MessageTemplateRegistry messageTemplateRegistry,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${ftgo.notification.status-updates.coalesce-window-ms:5000}") long windowMillis,
+                                 @Value("${ftgo.notification.status-updates.channels:PUSH}") String channels) {
+        this.notificationChannelRouter = notificationChannelRouter;
+        this.notificationRepository = notificationRepository;
+        this.notificationWriter = notificationWriter;
+        this.idempotentConsumer = idempotentConsumer;
+        this.messageTemplateRegistry = messageTemplateRegistry;
+        this.windowMillis = windowMillis;
+        this.channels = NotificationChannelRouter.parseChannels(channels);
+
+        this.received = Counter.builder("notification.status.received").register(meterRegistry);
+        this.suppressed = Counter.builder("notification.status.suppressed").register(meterRegistry);
+        this.sent = Counter.builder("notification.status.sent").register(meterRegistry);
+        Gauge.builder("notification.status.pending", pending, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Adds a status change to the order's window (opening one if needed). Latest change wins.
+     */
+    public void submit(Long orderId, String status, NotificationTemplate template) {
+        received.increment();
+        pending.compute(orderId, (id, update) -> {
+            if (update == null) {
+                update = new PendingUpdate(id, System.currentTimeMillis() + windowMillis);
+            } else {
+                suppressed.increment();
+                log.info(">>> Coalescing order #{}: {} replaces {}", id, status, update.status);
+            }
+            update.status = status;
+            update.template = template;
+            return update;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${ftgo.notification.status-updates.tick-ms:250}")
+    public void flushDue() {
+        long now = System.currentTimeMillis();
+        Iterator<PendingUpdate> it = pending.values().iterator();
+        while (it.hasNext()) {
+            PendingUpdate update = it.next();
+            if (update.deadlineMillis <= now && pending.remove(update.orderId, update)) {
+                send(update);
+            }
+        }
+    }
+
+    private void send(PendingUpdate update) {
+        String eventId = "status:" + update.orderId + ":" + update.status;
+        List<Notification> previous = notificationRepository.findByOrderId(update.orderId);
+        if (previous.isEmpty()) {
+            log.warn(">>> No recipient known for order #{} — dropping {} update", update.orderId, update.status);
+            return;
+        }
+        // Status events carry no contact or locale — both come from the order's earlier notifications
+        String recipient = previous.get(0).getRecipient();
+        String locale = previous.get(0).getLocale();
+        MessageTemplate template = messageTemplateRegistry.get(update.template, locale);
+        String message = template.render(update.orderId);
+
+        for (NotificationChannel channel : notificationChannelRouter.channelsFor(channels)) {
+            String channelEventId = eventId + ":" + channel.getType();
+            if (idempotentConsumer.isDuplicate(CONSUMER_NAME, channelEventId)) {
+                continue;
+            }
+            channel.send(recipient, message).whenComplete((delivered, e) -> {
+                if (!Boolean.TRUE.equals(delivered)) {
+                    log.warn(">>> {} status update for order #{} not delivered", channel.getType(), update.orderId);
+                    return;
+                }
+                Notification notification = new Notification();
+                notification.setOrderId(update.orderId);
+                notification.setType(channel.getType());
+                notification.setRecipient(recipient);
+                notification.setMessage(message);
+                notification.setTemplate(template.id());
+                notification.setLocale(locale);
+                notification.setSentAt(LocalDateTime.now());
+                notificationWriter.write(CONSUMER_NAME, notification, channelEventId);
+                sent.increment();
+            });
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.ftgo.notification;
+
+import lombok.*;
+
+/**
+ * Event published by kitchen-service to Kafka topic "kitchen-events".
+ * Must match com.ftgo.kitchen.TicketStatusChangedEvent in kitchen-service exactly.
+ *
+ * notification-service turns ACCEPTED / PREPARING / READY_FOR_PICKUP into status updates
+ * for the consumer (see StatusUpdateCoalescer).
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @ToString
+public class TicketStatusChangedEvent {
+    /** Unique per publish — consumers dedupe on this (Idempotent Consumer). */
+    private String eventId;
+    private Long ticketId;
+    private Long orderId;
+    private String newStatus;
+}
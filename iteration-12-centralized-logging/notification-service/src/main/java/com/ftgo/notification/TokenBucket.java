@@ -0,0 +1,62 @@
+package com.ftgo.notification;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket (GCRA form): the whole bucket state is ONE long — the "theoretical
+ * arrival time" of the next token. reserve() is a CAS loop over primitives, so the hot path
+ * allocates nothing.
+ *
+ *   capacity = how many sends may burst at once
+ *   rate     = sustained sends per second
+ *
+ * tryAcquire() takes a token only if one is available now; otherwise it takes nothing and returns
+ * how long until one is. delay() answers the same question without taking anything, so a caller
+ * needing tokens from two buckets can check both before consuming either.
+ */
+final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(double permitsPerSecond, int capacity) {
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.burstNanos = intervalNanos * (capacity - 1);
+        this.theoreticalArrival = new AtomicLong(System.nanoTime());
+    }
+
+    /** Nanos until a token is available (0 = now). Takes nothing. */
+    long delay() {
+        return Math.max(0, theoreticalArrival.get() - burstNanos - System.nanoTime());
+    }
+
+    /** Takes a token and returns 0 if one is available; otherwise takes nothing and returns the wait. */
+    long tryAcquire() {
+        while (true) {
+            long now = System.nanoTime();
+            long tat = theoreticalArrival.get();
+            long start = Math.max(tat, now);
+            long wait = start - burstNanos - now;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(tat, start + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /** Gives back a token taken by tryAcquire() that could not be used. */
+    void refund() {
+        theoreticalArrival.addAndGet(-intervalNanos);
+    }
+
+    /**
+     * True when the bucket is full again — it then behaves exactly like a fresh one and can be dropped.
+     */
+    boolean isIdle() {
+        return theoreticalArrival.get() <= System.nanoTime();
+    }
+}
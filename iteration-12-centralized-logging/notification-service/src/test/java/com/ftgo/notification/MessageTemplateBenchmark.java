@@ -0,0 +1,70 @@
+package com.ftgo.notification;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.text.MessageFormat;
+
+/**
+ * Allocation per render: inline concatenation (the old OrderEventConsumer code), a runtime-parsed
+ * localizable template (java.text.MessageFormat — what we'd use without pre-compilation) and a
+ * compiled MessageTemplate. Test scope, so it never ships in the service jar, and a plain main()
+ * rather than a test, so `mvn test` does not run it — no Spring context needed:
+ *
+ *   mvn -q test-compile
+ *   java -cp target/classes:target/test-classes com.ftgo.notification.MessageTemplateBenchmark
+ *
+ * Uses the JVM's per-thread allocation counter (HotSpot), so the numbers are bytes actually
+ * allocated by this thread, after warm-up.
+ */
+class MessageTemplateBenchmark {
+
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 1_000_000;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static long sink;
+
+    public static void main(String[] args) {
+        NotificationTemplate key = NotificationTemplate.ORDER_CONFIRMED;
+        MessageTemplate template = MessageTemplate.compile(key.getKey(), 1, "en", key.getDefaultText(), key.getParameters());
+
+        String consumerName = "Asha";
+        Long orderId = 1_234_567L;
+        String restaurantName = "Mumbai Masala";
+        BigDecimal totalAmount = new BigDecimal("1249.50");
+        Object[] values = {consumerName, orderId, restaurantName, totalAmount};
+
+        Runnable concatenation = () -> sink += ("Hi " + consumerName
+                + ", your order #" + orderId
+                + " from " + restaurantName
+                + " (total: Rs." + totalAmount + ") has been confirmed!").length();
+        String pattern = "Hi {0}, your order #{1} from {2} (total: Rs.{3}) has been confirmed!";
+        Runnable messageFormat = () -> sink += MessageFormat.format(pattern,
+                consumerName, String.valueOf(orderId), restaurantName, totalAmount.toString()).length();
+        Runnable compiled = () -> sink += template.render(values).length();
+
+        for (int round = 0; round < 3; round++) {
+            report("concatenation", concatenation);
+            report("MessageFormat", messageFormat);
+            report("compiled template", compiled);
+        }
+        System.out.println("message length: " + template.render(values).length() + " chars (sink " + sink + ")");
+    }
+
+    private static void report(String label, Runnable render) {
+        for (int i = 0; i < WARMUP; i++) {
+            render.run();
+        }
+        long thread = Thread.currentThread().getId();
+        long bytesBefore = THREADS.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            render.run();
+        }
+        long nanos = System.nanoTime() - start;
+        long bytes = THREADS.getThreadAllocatedBytes(thread) - bytesBefore;
+        System.out.printf("%-18s %6d bytes/render  %6d ns/render%n", label, bytes / ITERATIONS, nanos / ITERATIONS);
+    }
+}
@@ -2,6 +2,7 @@ package com.ftgo;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Order Service — Standalone Microservice (Iteration 6)
@@ -23,6 +24,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  *   - Kitchen/Delivery → Order: Kafka consumer (kitchen-events, delivery-events)
  */
 @SpringBootApplication
+@EnableScheduling
 public class OrderServiceApplication {
 
     public static void main(String[] args) {
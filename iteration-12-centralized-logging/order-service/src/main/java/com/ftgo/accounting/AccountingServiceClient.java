@@ -1,14 +1,20 @@
 package com.ftgo.accounting;
 
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.retry.annotation.Retry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -17,8 +23,15 @@ import java.util.Map;
  * Iteration 9 change: RestTemplate is now injected as a @LoadBalanced bean.
  * URLs use Eureka service names (http://accounting-service/...) — no hardcoded host:port.
  *
- * Why NO @Retry on authorizePayment()?
- *   POST /payments/authorize is NOT idempotent — retrying could DOUBLE-CHARGE the customer!
+ * Why @Retry on authorizePayment() is now safe:
+ *   POST /payments/authorize used to be NOT idempotent — retrying could DOUBLE-CHARGE the customer.
+ *   accounting-service now enforces idempotency per (orderId, attemptKey) with a unique-constrained
+ *   insert, so every retry of the same attempt sends the same key and gets the SAME payment back.
+ *   A transient blip (timeout, 503, "already being authorized") is retried instead of failing the order.
+ *   A risk decline (422) is not: it becomes PaymentDeclinedException, which both the retry and the
+ *   circuit breaker ignore, and which the fallback rethrows instead of reporting an outage.
+ *
+ * consumerId is sent so accounting-service can apply its per-consumer risk rules before the gateway.
  */
 @Slf4j
 @Service("accountingService")
@@ -31,28 +44,64 @@ public class AccountingServiceClient {
         log.info("AccountingServiceClient initialized with @LoadBalanced RestTemplate (Eureka discovery)");
     }
 
+    @Retry(name = "accountingService", fallbackMethod = "authorizePaymentFallback")
     @CircuitBreaker(name = "accountingService", fallbackMethod = "authorizePaymentFallback")
-    public PaymentResponse authorizePayment(Long orderId, BigDecimal amount, String paymentMethod) {
+    public PaymentResponse authorizePayment(Long orderId, Long consumerId, Long restaurantId, BigDecimal amount, String paymentMethod) {
         log.info(">>> Calling accounting-service to authorize payment for order #{}", orderId);
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
 
-        Map<String, Object> body = Map.of(
-                "orderId", orderId,
-                "amount", amount,
-                "paymentMethod", paymentMethod
-        );
+        // HashMap, not Map.of — consumerId may be null
+        Map<String, Object> body = new HashMap<>();
+        body.put("orderId", orderId);
+        body.put("consumerId", consumerId);
+        body.put("restaurantId", restaurantId);
+        body.put("amount", amount);
+        body.put("paymentMethod", paymentMethod);
+        body.put("attemptKey", attemptKeyFor(orderId));
 
         HttpEntity<Map<String, Object>> request = new HttpEntity<>(body, headers);
 
-        return restTemplate.postForObject(
-                "http://accounting-service/api/payments/authorize",
-                request,
-                PaymentResponse.class);
+        try {
+            return restTemplate.postForObject(
+                    "http://accounting-service/api/payments/authorize",
+                    request,
+                    PaymentResponse.class);
+        } catch (HttpClientErrorException.UnprocessableEntity e) {
+            PaymentResponse declined = e.getResponseBodyAs(PaymentResponse.class);
+            log.warn(">>> Payment for order #{} declined by accounting-service: {}", orderId,
+                    declined == null ? e.getMessage() : declined.getDeclineReason());
+            throw new PaymentDeclinedException(orderId, declined == null ? null : declined.getDeclineReason());
+        }
+    }
+
+    /**
+     * One keyset page of payments sorted by (orderId, id), for PaymentReconciliationJob.
+     * An idempotent GET, so it is retried — but kept off the authorize circuit breaker:
+     * a slow bulk export must not open the circuit that guards order placement.
+     */
+    @Retry(name = "accountingService")
+    public List<PaymentExportRow> exportPayments(long afterOrderId, long afterId, int limit) {
+        return restTemplate.exchange(
+                "http://accounting-service/api/payments/export?afterOrderId={o}&afterId={i}&limit={l}",
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<List<PaymentExportRow>>() {},
+                afterOrderId, afterId, limit).getBody();
+    }
+
+    /**
+     * Stable across retries — one authorization attempt per order.
+     */
+    private static String attemptKeyFor(Long orderId) {
+        return "order-" + orderId;
     }
 
-    public PaymentResponse authorizePaymentFallback(Long orderId, BigDecimal amount, String paymentMethod, Throwable t) {
+    public PaymentResponse authorizePaymentFallback(Long orderId, Long consumerId, Long restaurantId, BigDecimal amount, String paymentMethod, Throwable t) {
+        if (t instanceof PaymentDeclinedException declined) {
+            throw declined; // an answer from a healthy service, not an outage
+        }
         log.error(">>> CIRCUIT BREAKER: Accounting service unavailable for order #{}. Reason: {}", orderId, t.getMessage());
         throw new RuntimeException("Payment service is currently unavailable. Please try again later. (Circuit Breaker active)");
     }
@@ -0,0 +1,17 @@
+package com.ftgo.accounting;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * accounting-service declined the payment (422 — its risk rules). The attempt is over: it is not
+ * retried and not counted against the accountingService circuit breaker (ignore-exceptions in
+ * order-service.properties), and the order request fails with 422 instead of 500.
+ */
+public class PaymentDeclinedException extends ResponseStatusException {
+
+    public PaymentDeclinedException(Long orderId, String declineReason) {
+        super(HttpStatus.UNPROCESSABLE_ENTITY, "Payment declined for order " + orderId
+                + (declineReason == null ? "" : " (" + declineReason + ")"));
+    }
+}
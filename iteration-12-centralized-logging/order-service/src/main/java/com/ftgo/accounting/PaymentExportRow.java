@@ -0,0 +1,17 @@
+package com.ftgo.accounting;
+
+import lombok.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One row of accounting-service's GET /api/payments/export.
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @ToString
+public class PaymentExportRow {
+    private Long id;
+    private Long orderId;
+    private String status;
+    private BigDecimal amount;
+    private LocalDateTime createdAt;
+}
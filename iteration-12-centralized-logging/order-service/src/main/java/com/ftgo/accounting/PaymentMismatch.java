@@ -0,0 +1,27 @@
+package com.ftgo.accounting;
+
+import java.math.BigDecimal;
+
+/**
+ * One reconciliation finding, published to the payment-reconciliation topic keyed by orderId.
+ * Either side may be null — a missing payment has no payment fields, an orphan payment no order fields.
+ */
+public record PaymentMismatch(
+    String runId,
+    Type type,
+    Long orderId,
+    String orderStatus,
+    BigDecimal orderAmount,
+    Long paymentId,
+    String paymentStatus,
+    BigDecimal paymentAmount
+) {
+    public enum Type {
+        /** Order is APPROVED (or further along) but has no AUTHORIZED/CHARGED payment. */
+        MISSING_PAYMENT,
+        /** AUTHORIZED/CHARGED payment for an order that doesn't exist, is PENDING or was REJECTED. */
+        UNEXPECTED_PAYMENT,
+        /** Both sides agree the order is paid, but not on how much. */
+        AMOUNT_MISMATCH
+    }
+}
@@ -0,0 +1,259 @@
+package com.ftgo.accounting;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ftgo.order.OrderExportRow;
+import com.ftgo.order.OrderRepository;
+import com.ftgo.order.OrderStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Checks that order-service and accounting-service agree on which orders are paid.
+ *
+ * Nothing else verifies it: an order can end up APPROVED with no AUTHORIZED payment (e.g. the
+ * authorize call timed out after accounting committed, and the fallback path approved anyway),
+ * or a payment can be AUTHORIZED for an order that was later REJECTED.
+ *
+ * STREAMING MERGE-JOIN:
+ *   Both sides are read in orderId order through keyset pages — orders from the local
+ *   OrderRepository.exportPage(), payments from GET /api/payments/export — and walked in lockstep:
+ *
+ *     orders:    1   2   3       5   6 ...
+ *     payments:  1   2       4   5   5 ...      (several attempts per order are possible)
+ *                ✓   ✓   ✗   ✗   ✓
+ *                        │   └─ UNEXPECTED_PAYMENT (no order #4)
+ *                        └───── MISSING_PAYMENT    (order #3 APPROVED, nothing paid)
+ *
+ *   Memory is bounded by the page size, not the table size: each side holds the page being
+ *   consumed plus the next page, which is fetched in the background while the current one is
+ *   compared — so the HTTP round-trip overlaps with the merge instead of adding to it.
+ *   No sort, no hash table of "seen" ids, no OFFSET scans.
+ *
+ * Records newer than the grace period are skipped — an order being placed right now is
+ * legitimately PENDING with an AUTHORIZED payment for a few milliseconds.
+ *
+ * Findings are published to the payment-reconciliation topic (keyed by orderId); only the
+ * per-type counts are kept in memory. Runs on a cron and on demand via
+ * POST /api/reconciliation/payments/run.
+ */
+@Slf4j
+@Component
+public class PaymentReconciliationJob {
+
+    /** Order states that mean "the customer has been charged (or will be)". */
+    private static final Set<OrderStatus> PAID_ORDER_STATES = EnumSet.of(
+            OrderStatus.APPROVED, OrderStatus.PREPARING, OrderStatus.READY_FOR_PICKUP,
+            OrderStatus.PICKED_UP, OrderStatus.DELIVERED);
+
+    /** Order states in which no payment should be held. CANCELLED is left out — it may be refunded later. */
+    private static final Set<OrderStatus> UNPAID_ORDER_STATES = EnumSet.of(OrderStatus.PENDING, OrderStatus.REJECTED);
+
+    private static final Set<String> PAID_PAYMENT_STATES = Set.of("AUTHORIZED", "CHARGED");
+    private static final String REFUNDED = "REFUNDED";
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private AccountingServiceClient accountingServiceClient;
+
+    @Autowired
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Autowired
+    @Qualifier("reconciliationExecutor")
+    private Executor reconciliationExecutor;
+
+    @Value("${ftgo.reconciliation.payments.page-size:5000}")
+    private int pageSize;
+
+    @Value("${ftgo.reconciliation.payments.grace-period-minutes:15}")
+    private long gracePeriodMinutes;
+
+    @Value("${ftgo.reconciliation.payments.topic:payment-reconciliation}")
+    private String topic;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Scheduled(cron = "${ftgo.reconciliation.payments.cron:0 30 3 * * *}")
+    public void scheduledRun() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.error(">>> Payment reconciliation failed: {}", e.getMessage(), e);
+        }
+    }
+
+    public ReconciliationReport reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            throw new RuntimeException("Payment reconciliation is already running");
+        }
+        try {
+            return merge();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private ReconciliationReport merge() {
+        String runId = UUID.randomUUID().toString();
+        long start = System.currentTimeMillis();
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(gracePeriodMinutes);
+        Map<PaymentMismatch.Type, Long> counts = new EnumMap<>(PaymentMismatch.Type.class);
+        log.info(">>> Payment reconciliation {} started (page size {}, grace {} min)", runId, pageSize, gracePeriodMinutes);
+
+        PagedCursor<OrderExportRow> orders = new PagedCursor<>(reconciliationExecutor,
+                last -> orderRepository.exportPage(last == null ? 0 : last.orderId(), PageRequest.ofSize(pageSize)));
+        PagedCursor<PaymentExportRow> payments = new PagedCursor<>(reconciliationExecutor,
+                last -> accountingServiceClient.exportPayments(
+                        last == null ? 0 : last.getOrderId(), last == null ? 0 : last.getId(), pageSize));
+
+        while (orders.peek() != null || payments.peek() != null) {
+            long orderId = nextOrderId(orders.peek(), payments.peek());
+
+            OrderExportRow order = orders.peek() != null && orders.peek().orderId() == orderId ? orders.next() : null;
+            boolean recent = order != null && isAfter(order.createdAt(), cutoff);
+
+            // All attempts for this order — the latest paid one is what counts
+            PaymentExportRow paid = null;
+            boolean refunded = false;
+            while (payments.peek() != null && payments.peek().getOrderId() == orderId) {
+                PaymentExportRow payment = payments.next();
+                recent |= isAfter(payment.getCreatedAt(), cutoff);
+                if (PAID_PAYMENT_STATES.contains(payment.getStatus())) {
+                    paid = payment;
+                } else if (REFUNDED.equals(payment.getStatus())) {
+                    refunded = true;
+                }
+            }
+            if (recent) {
+                continue;
+            }
+
+            PaymentMismatch.Type type = classify(order, paid, refunded);
+            if (type != null) {
+                counts.merge(type, 1L, Long::sum);
+                publish(new PaymentMismatch(runId, type, orderId,
+                        order == null ? null : order.status().name(), order == null ? null : order.totalAmount(),
+                        paid == null ? null : paid.getId(), paid == null ? null : paid.getStatus(),
+                        paid == null ? null : paid.getAmount()));
+            }
+        }
+        kafkaTemplate.flush();
+
+        ReconciliationReport report = new ReconciliationReport(runId, orders.rows(), payments.rows(), counts,
+                System.currentTimeMillis() - start);
+        log.info(">>> Payment reconciliation {} finished: {}", runId, report);
+        return report;
+    }
+
+    private static PaymentMismatch.Type classify(OrderExportRow order, PaymentExportRow paid, boolean refunded) {
+        if (order != null && PAID_ORDER_STATES.contains(order.status())) {
+            if (paid == null) {
+                return refunded ? null : PaymentMismatch.Type.MISSING_PAYMENT;
+            }
+            return order.totalAmount().compareTo(paid.getAmount()) != 0 ? PaymentMismatch.Type.AMOUNT_MISMATCH : null;
+        }
+        if (paid != null && (order == null || UNPAID_ORDER_STATES.contains(order.status()))) {
+            return PaymentMismatch.Type.UNEXPECTED_PAYMENT;
+        }
+        return null;
+    }
+
+    private void publish(PaymentMismatch mismatch) {
+        try {
+            kafkaTemplate.send(topic, String.valueOf(mismatch.orderId()), objectMapper.writeValueAsString(mismatch))
+                    .whenComplete((result, e) -> {
+                        if (e != null) {
+                            log.error(">>> Failed to publish {} for order #{}: {}", mismatch.type(), mismatch.orderId(), e.getMessage());
+                        }
+                    });
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize {}: {}", mismatch, e.getMessage(), e);
+        }
+    }
+
+    private static long nextOrderId(OrderExportRow order, PaymentExportRow payment) {
+        if (order == null) {
+            return payment.getOrderId();
+        }
+        if (payment == null) {
+            return order.orderId();
+        }
+        return Math.min(order.orderId(), payment.getOrderId());
+    }
+
+    private static boolean isAfter(LocalDateTime createdAt, LocalDateTime cutoff) {
+        return createdAt != null && createdAt.isAfter(cutoff);
+    }
+
+    /**
+     * Forward-only cursor over a keyset-paginated source. Holds at most two pages — the one being
+     * consumed and the next one, requested as soon as the current one is handed out.
+     * Only an EMPTY page means the source is exhausted — a short one may just be the server
+     * clamping the page size (the accounting export caps it at 10 000).
+     */
+    private static final class PagedCursor<T> {
+
+        private final Executor executor;
+        private final Function<T, List<T>> fetchAfter;
+
+        private List<T> page = List.of();
+        private int index;
+        private CompletableFuture<List<T>> next;
+        private long rows;
+
+        PagedCursor(Executor executor, Function<T, List<T>> fetchAfter) {
+            this.executor = executor;
+            this.fetchAfter = fetchAfter;
+            this.next = fetch(null);
+        }
+
+        T peek() {
+            while (index == page.size()) {
+                if (next == null) {
+                    return null;
+                }
+                page = next.join();
+                index = 0;
+                next = page.isEmpty() ? null : fetch(page.get(page.size() - 1));
+            }
+            return page.get(index);
+        }
+
+        T next() {
+            T row = peek();
+            index++;
+            rows++;
+            return row;
+        }
+
+        long rows() {
+            return rows;
+        }
+
+        private CompletableFuture<List<T>> fetch(T after) {
+            return CompletableFuture.supplyAsync(() -> fetchAfter.apply(after), executor);
+        }
+    }
+}
@@ -16,5 +16,6 @@ public class PaymentResponse {
     private String paymentMethod;
     private String status;
     private String transactionId;
+    private String declineReason;
     private LocalDateTime createdAt;
 }
@@ -0,0 +1,25 @@
+package com.ftgo.accounting;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Operations endpoint for the order ↔ payment reconciliation.
+ *
+ *   POST /api/reconciliation/payments/run — run now and return the summary;
+ *   individual findings go to the payment-reconciliation topic.
+ *
+ * Not routed through the API gateway — call the service directly.
+ */
+@RestController
+@RequestMapping("/api/reconciliation")
+public class ReconciliationController {
+
+    @Autowired
+    private PaymentReconciliationJob paymentReconciliationJob;
+
+    @PostMapping("/payments/run")
+    public ReconciliationReport runPaymentReconciliation() {
+        return paymentReconciliationJob.reconcile();
+    }
+}
@@ -0,0 +1,11 @@
+package com.ftgo.accounting;
+
+import java.util.Map;
+
+public record ReconciliationReport(
+    String runId,
+    long ordersScanned,
+    long paymentsScanned,
+    Map<PaymentMismatch.Type, Long> mismatches,
+    long durationMs
+) {}
@@ -14,6 +14,8 @@ import lombok.*;
  */
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @ToString
 public class DeliveryStatusChangedEvent {
+    /** Unique per publish — consumers dedupe on this (Idempotent Consumer). */
+    private String eventId;
     private Long deliveryId;
     private Long orderId;
     private String newStatus;
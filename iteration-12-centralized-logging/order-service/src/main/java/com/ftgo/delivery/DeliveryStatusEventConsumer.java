@@ -1,15 +1,28 @@
 package com.ftgo.delivery;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ftgo.event.IdempotentConsumer;
+import com.ftgo.event.ProcessedOffsetTracker;
 import com.ftgo.order.Order;
 import com.ftgo.order.OrderRepository;
 import com.ftgo.order.OrderStatus;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.DltHandler;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.RetryableTopic;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.retry.annotation.Backoff;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Map;
+
 /**
  * Kafka consumer — listens for DeliveryStatusChanged events from delivery-service.
  *
@@ -23,45 +36,84 @@ import org.springframework.transaction.annotation.Transactional;
  *
  * This replaces the old tight coupling where DeliveryService directly updated Order status
  * via OrderRepository. Now the update happens asynchronously via domain events.
+ *
+ * Exactly-once handling and retry/DLT topics are identical to TicketStatusEventConsumer
+ * (delivery-events-retry-0/1/2 → delivery-events-dlt), and so is the forward-only status check
+ * that keeps a late retry from moving an order back.
  */
 @Slf4j
 @Component
-public class DeliveryStatusEventConsumer {
+public class DeliveryStatusEventConsumer implements ConsumerSeekAware {
+
+    private static final String GROUP_ID = "ftgo-monolith";
+    private static final String CONSUMER_NAME = "DeliveryStatusEventConsumer";
 
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private ProcessedOffsetTracker processedOffsetTracker;
+
+    @Autowired
+    private IdempotentConsumer idempotentConsumer;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
-    @KafkaListener(topics = "delivery-events", groupId = "ftgo-monolith")
-    @Transactional
-    public void handleDeliveryStatusChanged(String message) {
-        try {
-            DeliveryStatusChangedEvent event = objectMapper.readValue(message, DeliveryStatusChangedEvent.class);
-            log.info(">>> Received DeliveryStatusChanged event: {}", event);
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        processedOffsetTracker.seekToLastProcessed(GROUP_ID, assignments, callback);
+    }
 
-            Order order = orderRepository.findById(event.getOrderId()).orElse(null);
-            if (order == null) {
-                log.warn(">>> Order #{} not found for delivery status update", event.getOrderId());
-                return;
-            }
+    @RetryableTopic(
+            attempts = "4",
+            backoff = @Backoff(delay = 1000, multiplier = 5.0),
+            exclude = JsonProcessingException.class)
+    @KafkaListener(topics = "delivery-events", groupId = GROUP_ID)
+    @Transactional(rollbackFor = Exception.class)
+    public void handleDeliveryStatusChanged(ConsumerRecord<String, String> record) throws JsonProcessingException {
+        if (processedOffsetTracker.isProcessed(GROUP_ID, record)) {
+            log.info(">>> Skipping already-applied record {}-{}@{}", record.topic(), record.partition(), record.offset());
+            return;
+        }
+        DeliveryStatusChangedEvent event = objectMapper.readValue(record.value(), DeliveryStatusChangedEvent.class);
+        log.info(">>> Received DeliveryStatusChanged event: {}", event);
 
-            switch (event.getNewStatus()) {
-                case "PICKED_UP" -> {
-                    order.setStatus(OrderStatus.PICKED_UP);
-                    log.info(">>> Updated order #{} status to PICKED_UP", order.getId());
-                }
-                case "DELIVERED" -> {
-                    order.setStatus(OrderStatus.DELIVERED);
-                    log.info(">>> Updated order #{} status to DELIVERED", order.getId());
-                }
-                default -> log.warn(">>> Unknown delivery status: {}", event.getNewStatus());
-            }
+        String eventId = IdempotentConsumer.eventIdOf(event.getEventId(), record);
+        if (idempotentConsumer.isDuplicate(CONSUMER_NAME, eventId)) {
+            processedOffsetTracker.markProcessed(GROUP_ID, record);
+            return;
+        }
+
+        Order order = orderRepository.findById(event.getOrderId())
+                .orElseThrow(() -> new RuntimeException("Order not found for delivery status update: " + event.getOrderId()));
 
-            orderRepository.save(order);
+        OrderStatus status = switch (event.getNewStatus()) {
+            case "PICKED_UP" -> OrderStatus.PICKED_UP;
+            case "DELIVERED" -> OrderStatus.DELIVERED;
+            default -> {
+                log.warn(">>> Unknown delivery status: {}", event.getNewStatus());
+                yield null;
+            }
+        };
 
-        } catch (Exception e) {
-            log.error("Failed to process DeliveryStatusChanged event: {}", e.getMessage(), e);
+        if (status != null) {
+            if (order.getStatus().canAdvanceTo(status)) {
+                order.setStatus(status);
+                orderRepository.save(order);
+                log.info(">>> Updated order #{} status to {}", order.getId(), status);
+            } else {
+                // A retried or replayed event arriving after a later status — applying it would move the order back
+                log.info(">>> Ignoring stale {} for order #{} — already {}", status, order.getId(), order.getStatus());
+            }
         }
+        idempotentConsumer.markProcessed(CONSUMER_NAME, eventId);
+        processedOffsetTracker.markProcessed(GROUP_ID, record);
+    }
+
+    @DltHandler
+    public void handleDeadLetter(ConsumerRecord<String, String> record,
+                                 @Header(KafkaHeaders.EXCEPTION_MESSAGE) String error) {
+        log.error(">>> DLT: DeliveryStatusChanged event {}-{}@{} exhausted retries ({}). Payload: {}",
+                record.topic(), record.partition(), record.offset(), error, record.value());
     }
 }
@@ -0,0 +1,35 @@
+package com.ftgo.event;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Operations endpoint for dead-lettered events consumed by order-service.
+ *
+ *   POST /api/dlt/{topic}/replay?max=100 — re-drive up to {max} records from {topic}-dlt
+ *
+ * Not routed through the API gateway — call the service directly.
+ */
+@RestController
+@RequestMapping("/api/dlt")
+public class DeadLetterController {
+
+    private static final String GROUP_ID = "ftgo-monolith";
+    private static final Set<String> REPLAYABLE_TOPICS = Set.of("kitchen-events", "delivery-events");
+
+    @Autowired
+    private DeadLetterReplayer deadLetterReplayer;
+
+    @PostMapping("/{topic}/replay")
+    public Map<String, Object> replay(@PathVariable String topic,
+                                      @RequestParam(defaultValue = "100") int max) {
+        if (!REPLAYABLE_TOPICS.contains(topic)) {
+            throw new RuntimeException("Topic is not consumed by order-service: " + topic);
+        }
+        int replayed = deadLetterReplayer.replay(topic, GROUP_ID, max);
+        return Map.of("topic", topic, "replayed", replayed);
+    }
+}
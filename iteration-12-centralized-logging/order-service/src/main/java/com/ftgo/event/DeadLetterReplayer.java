@@ -0,0 +1,119 @@
+package com.ftgo.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Re-drives dead-lettered records back onto their original topic.
+ *
+ * Reads "<topic>-dlt" by manual assignment of all its partitions — no group join or rebalance
+ * to wait for — from the replay group's committed offset (the beginning if it never replayed),
+ * up to the end offsets taken when the replay starts. Records dead-lettered during the replay
+ * are left for the next one. Each record is re-published (same key, so per-order ordering is
+ * kept) to "<topic>", and the DLT offsets are committed only after every send in the batch has
+ * been acknowledged. A replayed record goes through the normal
+ * listener → retry topics → DLT path again; the Idempotent Consumer makes a double replay harmless.
+ */
+@Slf4j
+@Component
+public class DeadLetterReplayer {
+
+    private static final String DLT_SUFFIX = "-dlt";
+    private static final Duration REPLAY_TIMEOUT = Duration.ofSeconds(30);
+
+    @Autowired
+    private ConsumerFactory<String, String> consumerFactory;
+
+    @Autowired
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    public int replay(String topic, String groupId, int maxRecords) {
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        overrides.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        overrides.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(Math.min(maxRecords, 500)));
+
+        String dlt = topic + DLT_SUFFIX;
+        int replayed = 0;
+        try (Consumer<String, String> consumer =
+                     consumerFactory.createConsumer(groupId + "-dlt-replay", null, null, overrides)) {
+            List<PartitionInfo> partitionInfos = consumer.partitionsFor(dlt);
+            if (partitionInfos == null || partitionInfos.isEmpty()) {
+                log.info(">>> Nothing to replay — {} does not exist", dlt);
+                return 0;
+            }
+            List<TopicPartition> partitions = partitionInfos.stream()
+                    .map(info -> new TopicPartition(dlt, info.partition()))
+                    .toList();
+            consumer.assign(partitions);
+            Map<TopicPartition, OffsetAndMetadata> committed = consumer.committed(Set.copyOf(partitions));
+            for (TopicPartition partition : partitions) {
+                OffsetAndMetadata offset = committed.get(partition);
+                if (offset == null) {
+                    consumer.seekToBeginning(List.of(partition));
+                } else {
+                    consumer.seek(partition, offset.offset());
+                }
+            }
+            Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+
+            long deadline = System.nanoTime() + REPLAY_TIMEOUT.toNanos();
+            while (replayed < maxRecords && !reachedEnd(consumer, endOffsets)) {
+                if (System.nanoTime() > deadline) {
+                    log.warn(">>> Replay of {} timed out before reaching its end offsets", dlt);
+                    break;
+                }
+                ConsumerRecords<String, String> records = consumer.poll(Duration.ofMillis(500));
+
+                List<CompletableFuture<SendResult<String, String>>> sends = new ArrayList<>();
+                Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+                for (ConsumerRecord<String, String> record : records) {
+                    TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+                    if (replayed >= maxRecords || record.offset() >= endOffsets.get(partition)) {
+                        continue;
+                    }
+                    sends.add(kafkaTemplate.send(topic, record.key(), record.value()));
+                    offsets.put(partition, new OffsetAndMetadata(record.offset() + 1));
+                    replayed++;
+                }
+                if (sends.isEmpty()) {
+                    continue;
+                }
+
+                CompletableFuture.allOf(sends.toArray(new CompletableFuture[0])).join();
+                consumer.commitSync(offsets);
+            }
+        }
+        log.info(">>> Replayed {} record(s) from {}{} to {}", replayed, topic, DLT_SUFFIX, topic);
+        return replayed;
+    }
+
+    private static boolean reachedEnd(Consumer<String, String> consumer, Map<TopicPartition, Long> endOffsets) {
+        for (Map.Entry<TopicPartition, Long> end : endOffsets.entrySet()) {
+            if (consumer.position(end.getKey()) < end.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -3,6 +3,7 @@ package com.ftgo.event;
 import lombok.*;
 
 import java.math.BigDecimal;
+import java.util.UUID;
 
 /**
  * Event published to Kafka when an order is created.
@@ -15,9 +16,15 @@ import java.math.BigDecimal;
  */
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @ToString
 public class OrderCreatedEvent {
+    /** Unique per publish — consumers dedupe on this (Idempotent Consumer). */
+    private String eventId;
     private Long orderId;
     private String consumerName;
     private String consumerContact;
     private String restaurantName;
     private BigDecimal totalAmount;
+
+    public OrderCreatedEvent(Long orderId, String consumerName, String consumerContact, String restaurantName, BigDecimal totalAmount) {
+        this(UUID.randomUUID().toString(), orderId, consumerName, consumerContact, restaurantName, totalAmount);
+    }
 }
@@ -0,0 +1,26 @@
+package com.ftgo.event;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row per event a consumer has already applied.
+ *
+ * The unique (consumer, eventId) constraint is the real guard: the row is inserted in the
+ * handler's own transaction, so if two replays of the same event race, one of them fails
+ * at commit and its side effects roll back with it.
+ */
+@Entity
+@Table(name = "processed_event",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"consumer", "eventId"}))
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class ProcessedEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private String consumer;
+    private String eventId;
+    private LocalDateTime processedAt;
+}
@@ -0,0 +1,7 @@
+package com.ftgo.event;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ProcessedEventRepository extends JpaRepository<ProcessedEvent, Long> {
+    boolean existsByConsumerAndEventId(String consumer, String eventId);
+}
@@ -0,0 +1,29 @@
+package com.ftgo.event;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Last Kafka offset applied to the database, per consumer group and partition.
+ *
+ * Written in the SAME JPA transaction as the Order update it belongs to, so the
+ * "what did I apply?" bookkeeping and the state change commit (or roll back) together.
+ * On partition assignment the consumer seeks to {@code lastOffset + 1}, which makes
+ * Kafka's own committed offset an optimisation rather than the source of truth.
+ */
+@Entity
+@Table(name = "processed_offset",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"consumerGroup", "topic", "partitionNo"}))
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class ProcessedOffset {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private String consumerGroup;
+    private String topic;
+    private int partitionNo;
+    private long lastOffset;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,9 @@
+package com.ftgo.event;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface ProcessedOffsetRepository extends JpaRepository<ProcessedOffset, Long> {
+    Optional<ProcessedOffset> findByConsumerGroupAndTopicAndPartitionNo(String consumerGroup, String topic, int partitionNo);
+}
@@ -0,0 +1,71 @@
+package com.ftgo.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.listener.ConsumerSeekAware.ConsumerSeekCallback;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * DB-backed offset store for the exactly-once consume path.
+ *
+ * Producers (kitchen-service, delivery-service) publish inside Kafka transactions, and this
+ * service reads with isolation.level=read_committed, so an aborted state change is never seen.
+ * What is left is the consumer side: a crash after the Order update commits but before Kafka's
+ * offset commit would replay the record. Storing the applied offset next to the Order closes that gap:
+ *
+ *   1. onPartitionsAssigned → seek to (stored offset + 1)  — resume exactly where the DB left off
+ *   2. isProcessed(record)  → skip anything at or below the stored offset (defensive, e.g. a late rebalance)
+ *   3. markProcessed(record) → called inside the listener's @Transactional, commits with the Order
+ *
+ * Because the DB is the source of truth, the listener no longer needs to re-read state to guard
+ * against replays, and max-poll-records can be raised without widening the duplicate window.
+ */
+@Slf4j
+@Component
+public class ProcessedOffsetTracker {
+
+    @Autowired
+    private ProcessedOffsetRepository processedOffsetRepository;
+
+    public void seekToLastProcessed(String consumerGroup, Map<TopicPartition, Long> assignments,
+                                    ConsumerSeekCallback callback) {
+        for (TopicPartition tp : assignments.keySet()) {
+            processedOffsetRepository
+                    .findByConsumerGroupAndTopicAndPartitionNo(consumerGroup, tp.topic(), tp.partition())
+                    .ifPresent(stored -> {
+                        log.info(">>> Seeking {} to offset {} (last applied: {})", tp, stored.getLastOffset() + 1, stored.getLastOffset());
+                        callback.seek(tp.topic(), tp.partition(), stored.getLastOffset() + 1);
+                    });
+        }
+    }
+
+    public boolean isProcessed(String consumerGroup, ConsumerRecord<?, ?> record) {
+        return processedOffsetRepository
+                .findByConsumerGroupAndTopicAndPartitionNo(consumerGroup, record.topic(), record.partition())
+                .map(stored -> record.offset() <= stored.getLastOffset())
+                .orElse(false);
+    }
+
+    /**
+     * Must be called from within the listener's transaction.
+     */
+    public void markProcessed(String consumerGroup, ConsumerRecord<?, ?> record) {
+        ProcessedOffset stored = processedOffsetRepository
+                .findByConsumerGroupAndTopicAndPartitionNo(consumerGroup, record.topic(), record.partition())
+                .orElseGet(() -> {
+                    ProcessedOffset created = new ProcessedOffset();
+                    created.setConsumerGroup(consumerGroup);
+                    created.setTopic(record.topic());
+                    created.setPartitionNo(record.partition());
+                    return created;
+                });
+        stored.setLastOffset(record.offset());
+        stored.setUpdatedAt(LocalDateTime.now());
+        processedOffsetRepository.save(stored);
+    }
+}
@@ -14,6 +14,8 @@ import lombok.*;
  */
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @ToString
 public class TicketStatusChangedEvent {
+    /** Unique per publish — consumers dedupe on this (Idempotent Consumer). */
+    private String eventId;
     private Long ticketId;
     private Long orderId;
     private String newStatus;
@@ -1,15 +1,28 @@
 package com.ftgo.kitchen;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ftgo.event.IdempotentConsumer;
+import com.ftgo.event.ProcessedOffsetTracker;
 import com.ftgo.order.Order;
 import com.ftgo.order.OrderRepository;
 import com.ftgo.order.OrderStatus;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.DltHandler;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.RetryableTopic;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.retry.annotation.Backoff;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Map;
+
 /**
  * Kafka consumer — listens for TicketStatusChanged events from kitchen-service.
  *
@@ -29,50 +42,99 @@ import org.springframework.transaction.annotation.Transactional;
  *   and the monolith updating the order. During that window, the ticket might be PREPARING
  *   but the order still shows APPROVED. This is acceptable for our use case — the order
  *   status will converge quickly, and the UI auto-refreshes every 15 seconds.
+ *
+ * EXACTLY-ONCE:
+ *   kitchen-service publishes inside Kafka transactions and we read with read_committed.
+ *   The applied offset is stored in processed_offset in the same DB transaction as the Order
+ *   update (see ProcessedOffsetTracker), and partitions are re-seeked from it on assignment.
+ *
+ * NON-BLOCKING RETRIES (@RetryableTopic):
+ *   A failure no longer gets swallowed. The record is re-published to kitchen-events-retry-0/1/2
+ *   (1s, 5s, 25s delays) and finally to kitchen-events-dlt. The main listener keeps consuming
+ *   while a retry waits, so one poison message cannot stall the partition. Unparseable JSON
+ *   goes straight to the DLT. Re-drive with POST /api/dlt/kitchen-events/replay.
+ *   A retried record is out of partition order — it may arrive after a later status of the same
+ *   order — so a status is only applied if it moves the order forward (OrderStatus.canAdvanceTo).
  */
 @Slf4j
 @Component
-public class TicketStatusEventConsumer {
+public class TicketStatusEventConsumer implements ConsumerSeekAware {
+
+    private static final String GROUP_ID = "ftgo-monolith";
+    private static final String CONSUMER_NAME = "TicketStatusEventConsumer";
 
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private ProcessedOffsetTracker processedOffsetTracker;
+
+    @Autowired
+    private IdempotentConsumer idempotentConsumer;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
-    @KafkaListener(topics = "kitchen-events", groupId = "ftgo-monolith")
-    @Transactional
-    public void handleTicketStatusChanged(String message) {
-        try {
-            TicketStatusChangedEvent event = objectMapper.readValue(message, TicketStatusChangedEvent.class);
-            log.info(">>> Received TicketStatusChanged event: {}", event);
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        processedOffsetTracker.seekToLastProcessed(GROUP_ID, assignments, callback);
+    }
 
-            Order order = orderRepository.findById(event.getOrderId()).orElse(null);
-            if (order == null) {
-                log.warn(">>> Order #{} not found for ticket status update", event.getOrderId());
-                return;
-            }
+    @RetryableTopic(
+            attempts = "4",
+            backoff = @Backoff(delay = 1000, multiplier = 5.0),
+            exclude = JsonProcessingException.class)
+    @KafkaListener(topics = "kitchen-events", groupId = GROUP_ID)
+    @Transactional(rollbackFor = Exception.class)
+    public void handleTicketStatusChanged(ConsumerRecord<String, String> record) throws JsonProcessingException {
+        if (processedOffsetTracker.isProcessed(GROUP_ID, record)) {
+            log.info(">>> Skipping already-applied record {}-{}@{}", record.topic(), record.partition(), record.offset());
+            return;
+        }
+        TicketStatusChangedEvent event = objectMapper.readValue(record.value(), TicketStatusChangedEvent.class);
+        log.info(">>> Received TicketStatusChanged event: {}", event);
 
-            // Map kitchen ticket status → order status
-            switch (event.getNewStatus()) {
-                case "PREPARING" -> {
-                    order.setStatus(OrderStatus.PREPARING);
-                    log.info(">>> Updated order #{} status to PREPARING", order.getId());
-                }
-                case "READY_FOR_PICKUP" -> {
-                    order.setStatus(OrderStatus.READY_FOR_PICKUP);
-                    log.info(">>> Updated order #{} status to READY_FOR_PICKUP", order.getId());
-                }
-                case "ACCEPTED" -> {
-                    // No order status change needed for ACCEPTED
-                    log.info(">>> Ticket accepted for order #{} — no order status change", order.getId());
-                }
-                default -> log.warn(">>> Unknown ticket status: {}", event.getNewStatus());
-            }
+        String eventId = IdempotentConsumer.eventIdOf(event.getEventId(), record);
+        if (idempotentConsumer.isDuplicate(CONSUMER_NAME, eventId)) {
+            processedOffsetTracker.markProcessed(GROUP_ID, record);
+            return;
+        }
 
-            orderRepository.save(order);
+        Order order = orderRepository.findById(event.getOrderId())
+                .orElseThrow(() -> new RuntimeException("Order not found for ticket status update: " + event.getOrderId()));
 
-        } catch (Exception e) {
-            log.error("Failed to process TicketStatusChanged event: {}", e.getMessage(), e);
+        // Map kitchen ticket status → order status
+        OrderStatus status = switch (event.getNewStatus()) {
+            case "PREPARING" -> OrderStatus.PREPARING;
+            case "READY_FOR_PICKUP" -> OrderStatus.READY_FOR_PICKUP;
+            case "ACCEPTED" -> {
+                // No order status change needed for ACCEPTED
+                log.info(">>> Ticket accepted for order #{} — no order status change", order.getId());
+                yield null;
+            }
+            default -> {
+                log.warn(">>> Unknown ticket status: {}", event.getNewStatus());
+                yield null;
+            }
+        };
+
+        if (status != null) {
+            if (order.getStatus().canAdvanceTo(status)) {
+                order.setStatus(status);
+                orderRepository.save(order);
+                log.info(">>> Updated order #{} status to {}", order.getId(), status);
+            } else {
+                // A retried or replayed event arriving after a later status — applying it would move the order back
+                log.info(">>> Ignoring stale {} for order #{} — already {}", status, order.getId(), order.getStatus());
+            }
         }
+        idempotentConsumer.markProcessed(CONSUMER_NAME, eventId);
+        processedOffsetTracker.markProcessed(GROUP_ID, record);
+    }
+
+    @DltHandler
+    public void handleDeadLetter(ConsumerRecord<String, String> record,
+                                 @Header(KafkaHeaders.EXCEPTION_MESSAGE) String error) {
+        log.error(">>> DLT: TicketStatusChanged event {}-{}@{} exhausted retries ({}). Payload: {}",
+                record.topic(), record.partition(), record.offset(), error, record.value());
     }
 }
@@ -20,6 +20,8 @@ public class Order {
     private String consumerContact;
     private Long restaurantId;
     private String restaurantName;
+    /** Hash of the menu snapshot the items were priced from — fetch it to audit the prices. */
+    private String menuSnapshot;
     private String deliveryAddress;
     private String paymentMethod;
 
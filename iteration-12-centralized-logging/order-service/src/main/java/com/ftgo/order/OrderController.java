@@ -1,6 +1,7 @@
 package com.ftgo.order;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -14,6 +15,9 @@ public class OrderController {
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private OrderRepository orderRepository;
+
     @PostMapping
     public ResponseEntity<OrderResponse> createOrder(@RequestBody CreateOrderRequest request) {
         OrderResponse response = orderService.createOrder(request);
@@ -25,6 +29,16 @@ public class OrderController {
         return orderService.getAllOrders();
     }
 
+    /**
+     * Keyset-paginated export sorted by id, for reconciliation.
+     * GET /api/orders/export?afterId=0&limit=5000 — pass the last orderId as the next afterId.
+     */
+    @GetMapping("/export")
+    public List<OrderExportRow> exportOrders(@RequestParam(defaultValue = "0") long afterId,
+                                             @RequestParam(defaultValue = "1000") int limit) {
+        return orderRepository.exportPage(afterId, PageRequest.ofSize(Math.max(1, Math.min(limit, 10_000))));
+    }
+
     @GetMapping("/{id}")
     public OrderResponse getOrder(@PathVariable Long id) {
         return orderService.getOrder(id);
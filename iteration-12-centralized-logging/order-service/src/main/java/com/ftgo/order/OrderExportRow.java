@@ -0,0 +1,15 @@
+package com.ftgo.order;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One row of GET /api/orders/export — selected with a constructor expression, so no
+ * Order entities (or their item collections) are loaded into the persistence context.
+ */
+public record OrderExportRow(
+    Long orderId,
+    OrderStatus status,
+    BigDecimal totalAmount,
+    LocalDateTime createdAt
+) {}
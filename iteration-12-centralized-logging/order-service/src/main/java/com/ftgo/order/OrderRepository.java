@@ -1,6 +1,9 @@
 package com.ftgo.order;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -8,4 +11,12 @@ import java.util.List;
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByConsumerId(Long consumerId);
+
+    /**
+     * Keyset page — "id > :afterId" walks the primary key index, so page 1000 costs the same as page 1
+     * (OFFSET would re-scan every earlier row).
+     */
+    @Query("select new com.ftgo.order.OrderExportRow(o.id, o.status, o.totalAmount, o.createdAt) "
+            + "from Order o where o.id > :afterId order by o.id")
+    List<OrderExportRow> exportPage(@Param("afterId") long afterId, Pageable limit);
 }
@@ -13,5 +13,6 @@ public record OrderResponse(
     String status,
     BigDecimal totalAmount,
     List<OrderItem> items,
+    String menuSnapshot,
     LocalDateTime createdAt
 ) {}
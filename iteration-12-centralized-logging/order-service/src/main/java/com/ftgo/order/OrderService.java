@@ -1,7 +1,10 @@
 package com.ftgo.order;
 
 import com.ftgo.restaurant.MenuItem;
+import com.ftgo.restaurant.MenuSnapshot;
+import com.ftgo.restaurant.MenuSnapshotCache;
 import com.ftgo.restaurant.Restaurant;
+import com.ftgo.restaurant.RestaurantReplica;
 import com.ftgo.restaurant.RestaurantServiceClient;
 import com.ftgo.accounting.AccountingServiceClient;
 import com.ftgo.kitchen.KitchenServiceClient;
@@ -27,6 +30,12 @@ public class OrderService {
     @Autowired
     private RestaurantServiceClient restaurantService;
 
+    @Autowired
+    private RestaurantReplica restaurantReplica;
+
+    @Autowired
+    private MenuSnapshotCache menuSnapshotCache;
+
     @Autowired
     private AccountingServiceClient accountingService;
 
@@ -59,26 +68,24 @@ public class OrderService {
     @Transactional
     public OrderResponse createOrder(CreateOrderRequest request) {
 
-        // Step 1: Validate restaurant exists and is open
-        Restaurant restaurant = restaurantService.getRestaurant(request.restaurantId());
+        // Step 1: Validate restaurant exists and is open — from the local replica of restaurant-events
+        // (restaurant-service flips isOpen by opening hours and publishes it); REST only for one it doesn't know yet
+        Restaurant restaurant = restaurantReplica.find(request.restaurantId())
+                .orElseGet(() -> restaurantService.getRestaurantSummary(request.restaurantId()));
         if (!restaurant.isOpen()) {
             throw new RuntimeException("Restaurant is currently closed: " + restaurant.getName());
         }
 
-        // Step 2: Validate menu items and get prices
-        List<Long> menuItemIds = request.items().stream()
-                .map(OrderItemRequest::menuItemId)
-                .toList();
-        List<MenuItem> menuItems = restaurantService.getMenuItemsByIds(menuItemIds);
+        // Step 2: Price from the restaurant's current menu snapshot — immutable and cached by hash,
+        // so repeat orders against an unchanged menu need no remote lookup. The hash goes on the order.
+        MenuSnapshot menu = menuSnapshotCache.current(restaurant);
 
         // Step 3: Build order items and calculate total
         List<OrderItem> orderItems = new ArrayList<>();
         BigDecimal totalAmount = BigDecimal.ZERO;
 
         for (OrderItemRequest itemReq : request.items()) {
-            MenuItem menuItem = menuItems.stream()
-                    .filter(mi -> mi.getId().equals(itemReq.menuItemId()))
-                    .findFirst()
+            MenuItem menuItem = menu.item(itemReq.menuItemId())
                     .orElseThrow(() -> new RuntimeException("Menu item not found: " + itemReq.menuItemId()));
 
             OrderItem orderItem = new OrderItem(
@@ -97,6 +104,7 @@ public class OrderService {
         order.setConsumerContact(request.consumerContact());
         order.setRestaurantId(restaurant.getId());
         order.setRestaurantName(restaurant.getName());
+        order.setMenuSnapshot(menu.getHash());
         order.setDeliveryAddress(request.deliveryAddress());
         order.setPaymentMethod(request.paymentMethod());
         order.setStatus(OrderStatus.PENDING);
@@ -107,7 +115,7 @@ public class OrderService {
 
         // Step 5: Authorize payment — calls Accounting Service via REST + Circuit Breaker
         // If accounting-service is down → circuit breaker trips → fallback rejects order
-        accountingService.authorizePayment(order.getId(), totalAmount, request.paymentMethod());
+        accountingService.authorizePayment(order.getId(), request.consumerId(), restaurant.getId(), totalAmount, request.paymentMethod());
 
         // Step 6: Create kitchen ticket — calls Kitchen Service via REST + Circuit Breaker
         // If kitchen-service is down → circuit breaker trips → fallback rejects order
@@ -172,6 +180,7 @@ public class OrderService {
                 order.getStatus().name(),
                 order.getTotalAmount(),
                 order.getItems(),
+                order.getMenuSnapshot(),
                 order.getCreatedAt()
         );
     }
@@ -1,5 +1,15 @@
 package com.ftgo.order;
 
 public enum OrderStatus {
-    PENDING, APPROVED, REJECTED, PREPARING, READY_FOR_PICKUP, PICKED_UP, DELIVERED, CANCELLED
+    PENDING, APPROVED, REJECTED, PREPARING, READY_FOR_PICKUP, PICKED_UP, DELIVERED, CANCELLED;
+
+    /**
+     * Fulfilment only moves forward: APPROVED → PREPARING → READY_FOR_PICKUP → PICKED_UP → DELIVERED.
+     * kitchen-events and delivery-events are retried out of partition order (retry topics, DLT
+     * replay), so a late PREPARING must not overwrite a READY_FOR_PICKUP or DELIVERED already applied.
+     * A REJECTED or CANCELLED order takes no fulfilment status at all.
+     */
+    public boolean canAdvanceTo(OrderStatus next) {
+        return this != REJECTED && this != CANCELLED && next.ordinal() > ordinal();
+    }
 }
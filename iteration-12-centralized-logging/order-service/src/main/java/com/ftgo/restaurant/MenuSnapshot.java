@@ -0,0 +1,24 @@
+package com.ftgo.restaurant;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Menu snapshot DTO — an immutable menu version from restaurant-service, identified by the
+ * hash of its content. The same hash always means the same items and prices.
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class MenuSnapshot {
+    private String hash;
+    private Long restaurantId;
+    private LocalDateTime createdAt;
+    private List<MenuItem> items = new ArrayList<>();
+
+    public Optional<MenuItem> item(Long menuItemId) {
+        return items.stream().filter(i -> i.getId().equals(menuItemId)).findFirst();
+    }
+}
@@ -0,0 +1,70 @@
+package com.ftgo.restaurant;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Menu snapshots by hash — cached forever, because a snapshot never changes.
+ *
+ *   order for restaurant #1 ──► current hash of #1
+ *                                 (RestaurantReplica — from restaurant-events, no call)
+ *                                 │
+ *                                 ├─ hash cached ──► price from the snapshot — no remote lookup
+ *                                 └─ not cached ──► GET /menu-snapshots/{hash} once, then cached
+ *
+ * RestaurantReplica also seeds the cache from the menus carried on restaurant-events, so normally
+ * even the first order against a new menu version is priced locally. There is no invalidation —
+ * a changed menu simply has a new hash. Only the LRU bound evicts.
+ */
+@Slf4j
+@Component
+public class MenuSnapshotCache {
+
+    @Autowired
+    private RestaurantServiceClient restaurantService;
+
+    private final Map<String, MenuSnapshot> snapshots;
+
+    public MenuSnapshotCache(@Value("${ftgo.orders.menu-snapshot-cache-size:1000}") int cacheSize) {
+        this.snapshots = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, MenuSnapshot> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * The menu the restaurant has now: by the hash it advertises (replica), else asks
+     * restaurant-service for its current snapshot.
+     */
+    public MenuSnapshot current(Restaurant restaurant) {
+        if (restaurant.getMenuSnapshot() != null) {
+            return get(restaurant.getMenuSnapshot());
+        }
+        MenuSnapshot snapshot = restaurantService.getCurrentMenuSnapshot(restaurant.getId());
+        put(snapshot);
+        return snapshot;
+    }
+
+    public MenuSnapshot get(String hash) {
+        MenuSnapshot cached = snapshots.get(hash);
+        if (cached != null) {
+            return cached;
+        }
+        log.debug("Menu snapshot {} not cached — fetching", hash);
+        MenuSnapshot snapshot = restaurantService.getMenuSnapshot(hash);
+        put(snapshot);
+        return snapshot;
+    }
+
+    public void put(MenuSnapshot snapshot) {
+        snapshots.putIfAbsent(snapshot.getHash(), snapshot);
+    }
+}
@@ -19,5 +19,7 @@ public class Restaurant {
     private String address;
     private String phone;
     private boolean isOpen;
+    /** Hash of the current menu snapshot — known when read from RestaurantReplica. */
+    private String menuSnapshot;
     private List<MenuItem> menuItems = new ArrayList<>();
 }
@@ -0,0 +1,30 @@
+package com.ftgo.restaurant;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Record on restaurant-service's compacted restaurant-events topic (key = restaurant id).
+ *
+ * The value is the restaurant's FULL state at {@code version} — details, open flag and whole
+ * menu — so the latest record per key is all a replica needs. A null value (tombstone) means
+ * the restaurant was deleted.
+ *
+ * type is one of RESTAURANT_UPSERTED, MENU_CHANGED, RESTAURANT_OPENED, RESTAURANT_CLOSED.
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @ToString(exclude = "menuItems")
+public class RestaurantEvent {
+    private String eventId;
+    private String type;
+    private Long restaurantId;
+    private long version;
+    private String name;
+    private String address;
+    private String phone;
+    private boolean open;
+    /** Hash of the snapshot menuItems form — see MenuSnapshotCache. */
+    private String menuSnapshot;
+    private List<MenuItem> menuItems = new ArrayList<>();
+}
@@ -0,0 +1,136 @@
+package com.ftgo.restaurant;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Local, in-memory replica of every restaurant (and its menu), fed by the compacted
+ * restaurant-events topic.
+ *
+ * BOOTSTRAP:
+ *   Each instance assigns itself EVERY partition (manual assignment, partitions 0..n-1 from
+ *   ftgo.restaurants.events.partitions) instead of joining a consumer group — so there is no group
+ *   on the broker, no rebalance, and nothing is committed (RestaurantReplicaConfig). It seeks to
+ *   the beginning on assignment. Compaction keeps about one full-state record per restaurant, so
+ *   the replay is short: the replica is complete as soon as the consumer reaches the end of each
+ *   partition ("caught up" is logged once, with timing).
+ *
+ * APPLYING:
+ *   Records are whole states — the replica simply keeps the highest version per restaurant id
+ *   (a re-published or replayed older version is ignored) and drops the id on a tombstone.
+ *   Unparseable records are logged and skipped: the next state for that key replaces them anyway.
+ *   The menu on each record is also handed to MenuSnapshotCache under its snapshot hash.
+ *
+ * The replica is eventually consistent — callers that need a hard answer for a restaurant
+ * it does not (yet) know must still ask restaurant-service. Returned objects are shared and
+ * must be treated as read-only.
+ */
+@Slf4j
+@Component
+public class RestaurantReplica implements ConsumerSeekAware {
+
+    private record Entry(long version, Restaurant restaurant) {}
+
+    @Autowired
+    private MenuSnapshotCache menuSnapshotCache;
+
+    private final Map<Long, Entry> restaurants = new ConcurrentHashMap<>();
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private volatile boolean caughtUp;
+    private volatile long assignedAt;
+    private long recordsApplied;
+
+    public Optional<Restaurant> find(Long restaurantId) {
+        Entry entry = restaurants.get(restaurantId);
+        return entry == null ? Optional.empty() : Optional.of(entry.restaurant());
+    }
+
+    public int size() {
+        return restaurants.size();
+    }
+
+    public boolean isCaughtUp() {
+        return caughtUp;
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        assignedAt = System.currentTimeMillis();
+        callback.seekToBeginning(assignments.keySet());
+    }
+
+    @KafkaListener(topicPartitions = @org.springframework.kafka.annotation.TopicPartition(topic = "${ftgo.restaurants.events.topic:restaurant-events}",
+                    partitions = "0-#{${ftgo.restaurants.events.partitions:3} - 1}"),
+            groupId = "order-service-restaurant-replica",
+            containerPostProcessor = "restaurantReplicaContainerPostProcessor",
+            batch = "true")
+    public void onRestaurantEvents(List<ConsumerRecord<String, String>> records, Consumer<?, ?> consumer) {
+        for (ConsumerRecord<String, String> record : records) {
+            apply(record);
+        }
+        recordsApplied += records.size();
+
+        if (!caughtUp && consumer.assignment().stream().allMatch(tp -> lagOf(consumer, tp) == 0)) {
+            caughtUp = true;
+            log.info(">>> Restaurant replica caught up: {} restaurants from {} record(s) in {} ms",
+                    restaurants.size(), recordsApplied, System.currentTimeMillis() - assignedAt);
+        }
+    }
+
+    private void apply(ConsumerRecord<String, String> record) {
+        Long id;
+        try {
+            id = Long.valueOf(record.key());
+        } catch (NumberFormatException e) {
+            log.warn(">>> Skipping restaurant-events record {}-{}@{} with key '{}'",
+                    record.topic(), record.partition(), record.offset(), record.key());
+            return;
+        }
+        if (record.value() == null) {
+            restaurants.remove(id);
+            log.info(">>> Restaurant #{} removed from replica", id);
+            return;
+        }
+
+        RestaurantEvent event;
+        try {
+            event = objectMapper.readValue(record.value(), RestaurantEvent.class);
+        } catch (JsonProcessingException e) {
+            log.error(">>> Unparseable restaurant event {}-{}@{} — skipped: {}",
+                    record.topic(), record.partition(), record.offset(), e.getMessage());
+            return;
+        }
+
+        Restaurant restaurant = new Restaurant(id, event.getName(), event.getAddress(), event.getPhone(),
+                event.isOpen(), event.getMenuSnapshot(), event.getMenuItems());
+        if (event.getMenuSnapshot() != null) {
+            // The record carries the whole menu — that IS the snapshot, no need to fetch it later
+            menuSnapshotCache.put(new MenuSnapshot(event.getMenuSnapshot(), id, null, event.getMenuItems()));
+        }
+        restaurants.merge(id, new Entry(event.getVersion(), restaurant),
+                (current, next) -> next.version() >= current.version() ? next : current);
+        log.debug(">>> Applied {} for restaurant #{} v{}", event.getType(), id, event.getVersion());
+    }
+
+    private static long lagOf(Consumer<?, ?> consumer, TopicPartition tp) {
+        OptionalLong lag = consumer.currentLag(tp);
+        return lag.isPresent() ? lag.getAsLong() : -1;
+    }
+}
@@ -0,0 +1,28 @@
+package com.ftgo.restaurant;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ContainerPostProcessor;
+import org.springframework.kafka.listener.AbstractMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
+
+/**
+ * Listener container settings for RestaurantReplica.
+ *
+ * The replica replays restaurant-events from the beginning on every start, so a committed
+ * offset would never be read back — and committing from a manually assigned consumer would
+ * only leave offsets behind under a group nobody joins. MANUAL ack mode without ever acking,
+ * plus no commit on assignment, means this container commits nothing.
+ */
+@Configuration
+public class RestaurantReplicaConfig {
+
+    @Bean(name = "restaurantReplicaContainerPostProcessor")
+    public ContainerPostProcessor<String, String, AbstractMessageListenerContainer<String, String>> restaurantReplicaContainerPostProcessor() {
+        return container -> {
+            ContainerProperties properties = container.getContainerProperties();
+            properties.setAckMode(ContainerProperties.AckMode.MANUAL);
+            properties.setAssignmentCommitOption(ContainerProperties.AssignmentCommitOption.NEVER);
+        };
+    }
+}
@@ -5,11 +5,17 @@ import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -27,12 +33,23 @@ import java.util.stream.Collectors;
  *
  * Iteration 9 change: RestTemplate is now injected as a @LoadBalanced bean.
  * URLs use Eureka service names (http://restaurant-service/...) — no hardcoded host:port.
+ *
+ * CONDITIONAL GETs:
+ *   restaurant-service tags catalog responses with strong ETags. getRestaurant() and
+ *   getAllRestaurants() keep the last body per URL and send its ETag as If-None-Match;
+ *   a 304 reuses the cached body — no payload on the wire, no JSON parsing here, no DB query there.
+ *   Cached bodies are shared between callers and must be treated as read-only.
  */
 @Slf4j
 @Service("restaurantService")
 public class RestaurantServiceClient {
 
+    private static final int MAX_CACHED_RESPONSES = 1000;
+
+    private record Cached(String etag, Object body) {}
+
     private final RestTemplate restTemplate;
+    private final ConcurrentHashMap<String, Cached> conditionalCache = new ConcurrentHashMap<>();
 
     public RestaurantServiceClient(RestTemplate restTemplate) {
         this.restTemplate = restTemplate;
@@ -43,22 +60,50 @@ public class RestaurantServiceClient {
     @CircuitBreaker(name = "restaurantService", fallbackMethod = "getRestaurantFallback")
     public Restaurant getRestaurant(Long id) {
         log.debug("Fetching restaurant #{} from restaurant-service", id);
-        return restTemplate.getForObject(
-                "http://restaurant-service/api/restaurants/{id}",
-                Restaurant.class,
-                id);
+        return getConditional("http://restaurant-service/api/restaurants/{id}",
+                new ParameterizedTypeReference<Restaurant>() {}, id);
+    }
+
+    /**
+     * Restaurant without its menu (menuItems stays empty) — just the fields order placement needs,
+     * from the summary projection instead of the full restaurant graph.
+     */
+    @Retry(name = "restaurantService", fallbackMethod = "getRestaurantFallback")
+    @CircuitBreaker(name = "restaurantService", fallbackMethod = "getRestaurantFallback")
+    public Restaurant getRestaurantSummary(Long id) {
+        log.debug("Fetching restaurant #{} summary from restaurant-service", id);
+        return getConditional("http://restaurant-service/api/restaurants/{id}/summary?fields=id,name,address,open",
+                new ParameterizedTypeReference<Restaurant>() {}, id);
     }
 
     @Bulkhead(name = "restaurantService", fallbackMethod = "getAllRestaurantsFallback")
     @CircuitBreaker(name = "restaurantService", fallbackMethod = "getAllRestaurantsFallback")
     public List<Restaurant> getAllRestaurants() {
         log.debug("Fetching all restaurants from restaurant-service");
-        return restTemplate.exchange(
-                "http://restaurant-service/api/restaurants",
-                HttpMethod.GET,
-                null,
-                new ParameterizedTypeReference<List<Restaurant>>() {}
-        ).getBody();
+        return getConditional("http://restaurant-service/api/restaurants",
+                new ParameterizedTypeReference<List<Restaurant>>() {});
+    }
+
+    /**
+     * The restaurant's menu as it is now, as a snapshot (conditional on the last hash seen).
+     */
+    @Retry(name = "restaurantService", fallbackMethod = "getCurrentMenuSnapshotFallback")
+    @CircuitBreaker(name = "restaurantService", fallbackMethod = "getCurrentMenuSnapshotFallback")
+    public MenuSnapshot getCurrentMenuSnapshot(Long restaurantId) {
+        log.debug("Fetching current menu snapshot of restaurant #{} from restaurant-service", restaurantId);
+        return getConditional("http://restaurant-service/api/restaurants/{id}/menu/snapshot",
+                new ParameterizedTypeReference<MenuSnapshot>() {}, restaurantId);
+    }
+
+    /**
+     * A menu snapshot by hash — immutable, so callers cache it for good (MenuSnapshotCache).
+     */
+    @Retry(name = "restaurantService", fallbackMethod = "getMenuSnapshotFallback")
+    @CircuitBreaker(name = "restaurantService", fallbackMethod = "getMenuSnapshotFallback")
+    public MenuSnapshot getMenuSnapshot(String hash) {
+        log.debug("Fetching menu snapshot {} from restaurant-service", hash);
+        return restTemplate.getForObject("http://restaurant-service/api/restaurants/menu-snapshots/{hash}",
+                MenuSnapshot.class, hash);
     }
 
     @CircuitBreaker(name = "restaurantService", fallbackMethod = "getMenuItemsByIdsFallback")
@@ -76,6 +121,34 @@ public class RestaurantServiceClient {
         ).getBody();
     }
 
+    /**
+     * GET with If-None-Match from the last response for the same URL; 304 → cached body.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T getConditional(String url, ParameterizedTypeReference<T> type, Object... uriVariables) {
+        String key = url + Arrays.toString(uriVariables);
+        Cached cached = conditionalCache.get(key);
+
+        HttpHeaders headers = new HttpHeaders();
+        if (cached != null) {
+            headers.setIfNoneMatch(cached.etag());
+        }
+        ResponseEntity<T> response = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), type, uriVariables);
+
+        if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED) && cached != null) {
+            log.debug("304 Not Modified for {} — reusing cached body", key);
+            return (T) cached.body();
+        }
+        String etag = response.getHeaders().getETag();
+        if (etag != null && response.getBody() != null) {
+            if (conditionalCache.size() >= MAX_CACHED_RESPONSES) {
+                conditionalCache.clear();
+            }
+            conditionalCache.put(key, new Cached(etag, response.getBody()));
+        }
+        return response.getBody();
+    }
+
     // ======================== FALLBACK METHODS ========================
 
     public Restaurant getRestaurantFallback(Long id, Throwable t) {
@@ -89,6 +162,18 @@ public class RestaurantServiceClient {
         return List.of();
     }
 
+    public MenuSnapshot getCurrentMenuSnapshotFallback(Long restaurantId, Throwable t) {
+        log.error(">>> FALLBACK: Cannot fetch menu of restaurant #{}. Reason: {}", restaurantId, t.getMessage());
+        throw new RuntimeException(
+                "Restaurant service is currently unavailable. Cannot retrieve the menu for order.");
+    }
+
+    public MenuSnapshot getMenuSnapshotFallback(String hash, Throwable t) {
+        log.error(">>> FALLBACK: Cannot fetch menu snapshot {}. Reason: {}", hash, t.getMessage());
+        throw new RuntimeException(
+                "Restaurant service is currently unavailable. Cannot retrieve the menu for order.");
+    }
+
     public List<MenuItem> getMenuItemsByIdsFallback(List<Long> ids, Throwable t) {
         log.error(">>> FALLBACK: Cannot fetch menu items {}. Reason: {}", ids, t.getMessage());
         throw new RuntimeException(
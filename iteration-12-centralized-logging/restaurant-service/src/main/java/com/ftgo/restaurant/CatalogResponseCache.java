@@ -0,0 +1,172 @@
+package com.ftgo.restaurant;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Pre-serialized responses for the hottest reads: the catalog and each restaurant's menu.
+ *
+ * Before: every GET /api/restaurants loaded the Restaurant entities, lazily pulled in every
+ *   menuItems collection (one query per restaurant) and ran Jackson over the whole graph.
+ *
+ * After: the JSON is built once per version and kept as byte[] (plus a gzipped copy):
+ *
+ *   request ──► RestaurantETags.catalogETag()  (memory)
+ *                 │
+ *                 ├─ same as the cached body's key ──► write cached bytes — no query, no Jackson
+ *                 └─ changed (or first call) ──────► reload + serialize + gzip once (single-flight),
+ *                                                    then every caller gets the new bytes
+ *
+ *   Single-flight is a lock for the catalog and an in-flight CompletableFuture per restaurant for
+ *   menus: one caller rebuilds, the others for that restaurant wait on its future. The query,
+ *   Jackson and gzip never run inside a ConcurrentHashMap.compute() — that would hold the map's
+ *   bin lock (and block unrelated restaurants in the same bin) for the whole rebuild.
+ *
+ *   A local write bumps the version immediately; a write on another replica is seen after the
+ *   next RestaurantETags refresh. Each body is keyed by the version it was built for and also
+ *   carries the ETag of the data actually serialized, so the ETag always describes the bytes.
+ *
+ * Bodies are immutable once published — never hand the arrays to code that modifies them.
+ */
+@Slf4j
+@Component
+public class CatalogResponseCache {
+
+    /**
+     * @param key  version ETag this body was built for (what RestaurantETags reported at the time)
+     * @param etag ETag of the serialized data
+     * @param gzip gzipped json, or null when compression is off or the body is too small to bother
+     */
+    public record Body(String key, String etag, byte[] json, byte[] gzip) {}
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private RestaurantETags restaurantETags;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${ftgo.restaurants.response-cache.gzip:true}")
+    private boolean gzipEnabled;
+
+    @Value("${ftgo.restaurants.response-cache.gzip-min-bytes:1024}")
+    private int gzipMinBytes;
+
+    private final Object catalogLock = new Object();
+    private volatile Body catalog;
+    private final ConcurrentHashMap<Long, Body> menus = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, CompletableFuture<Body>> menuBuilds = new ConcurrentHashMap<>();
+
+    public Body catalog() {
+        String key = restaurantETags.catalogETag();
+        Body current = catalog;
+        if (isCurrent(current, key)) {
+            return current;
+        }
+        synchronized (catalogLock) {
+            current = catalog;
+            if (!isCurrent(current, key)) {
+                current = transactionTemplate.execute(status -> {
+                    List<Restaurant> restaurants = restaurantRepository.findAll();
+                    return build(key, RestaurantETags.ofCatalog(restaurants), restaurants);
+                });
+                catalog = current;
+                log.info("Catalog response rebuilt: {} bytes ({} gzipped), ETag {}",
+                        current.json().length, current.gzip() == null ? "not" : current.gzip().length, current.etag());
+            }
+            return current;
+        }
+    }
+
+    public Body menu(Long restaurantId) {
+        String key = restaurantETags.restaurantETag(restaurantId);
+        while (true) {
+            Body current = menus.get(restaurantId);
+            if (isCurrent(current, key)) {
+                return current;
+            }
+            // Single-flight per restaurant: the caller that registers the future rebuilds — outside
+            // any map lock — and concurrent callers wait on it instead of rebuilding too
+            CompletableFuture<Body> mine = new CompletableFuture<>();
+            CompletableFuture<Body> running = menuBuilds.putIfAbsent(restaurantId, mine);
+            if (running == null) {
+                return rebuildMenu(restaurantId, key, mine);
+            }
+            Body built;
+            try {
+                built = running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+            if (isCurrent(built, key)) {
+                return built;
+            }
+            // that rebuild started before the version we saw — go again
+        }
+    }
+
+    private Body rebuildMenu(Long restaurantId, String key, CompletableFuture<Body> build) {
+        try {
+            Body body = transactionTemplate.execute(status -> {
+                Restaurant restaurant = restaurantRepository.findById(restaurantId)
+                        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Restaurant not found: " + restaurantId));
+                return build(key, RestaurantETags.of(restaurant), restaurant.getMenuItems());
+            });
+            menus.put(restaurantId, body);
+            build.complete(body);
+            return body;
+        } catch (RuntimeException e) {
+            build.completeExceptionally(e);
+            throw e;
+        } finally {
+            menuBuilds.remove(restaurantId, build);
+        }
+    }
+
+    private static boolean isCurrent(Body body, String key) {
+        return body != null && key != null && Objects.equals(body.key(), key);
+    }
+
+    private Body build(String key, String etag, Object value) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize catalog response", e);
+        }
+        byte[] gzip = gzipEnabled && json.length >= gzipMinBytes ? gzip(json) : null;
+        return new Body(key, etag, json, gzip);
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
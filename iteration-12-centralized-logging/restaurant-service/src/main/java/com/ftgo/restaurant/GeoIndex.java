@@ -0,0 +1,172 @@
+package com.ftgo.restaurant;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Spatial index of OPEN restaurants for "what's near me" queries.
+ *
+ * GRID:
+ *   The map is cut into fixed cells of cell-size-degrees (default 0.05° ≈ 5.5 km north-south).
+ *   Each open restaurant with coordinates sits in exactly one cell:
+ *
+ *        lng →
+ *     ┌─────┬─────┬─────┬─────┐
+ *     │     │  •  │     │     │      query (✕, radius r):
+ *     ├─────┼─────┼─────┼─────┤        1. bounding box of the circle → the cells it touches
+ *   ↑ │     │ •✕  │  •  │     │        2. haversine distance for restaurants in those cells only
+ *  lat├─────┼─────┼─────┼─────┤        3. keep d ≤ r, sort by d, return the first {limit}
+ *     │  •  │     │     │     │
+ *     └─────┴─────┴─────┴─────┘
+ *
+ *   A 5 km query touches ~9 cells however many restaurants exist in the country — tens of
+ *   thousands of restaurants still answer in microseconds. Box widths in longitude are scaled by
+ *   cos(latitude). (Queries spanning the antimeridian or the poles are not handled — not our market.)
+ *
+ * UPDATES:
+ *   Fed by RestaurantsChangedEvent like SearchIndex: the first event after startup loads every
+ *   restaurant, later ones move/add/remove just the changed ids. A restaurant that closes
+ *   leaves the index; one that opens joins it.
+ */
+@Slf4j
+@Component
+public class GeoIndex {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE_LAT = 111.32;
+
+    private record Entry(Long id, String name, String address, double latitude, double longitude, long cell) {}
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Value("${ftgo.restaurants.geo.cell-size-degrees:0.05}")
+    private double cellSize;
+
+    @Value("${ftgo.restaurants.geo.max-radius-km:50}")
+    private double maxRadiusKm;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, List<Entry>> cells = new HashMap<>();
+    private final Map<Long, Entry> byId = new HashMap<>();
+
+    @Autowired
+    private RestaurantETags restaurantETags;
+
+    @EventListener
+    public void onRestaurantsChanged(RestaurantsChangedEvent event) {
+        restaurantETags.deliver("Geo index", event.restaurantIds(), this::reindex);
+    }
+
+    private void reindex(Set<Long> restaurantIds) {
+        List<Restaurant> restaurants = restaurantRepository.findAllById(restaurantIds);
+        Set<Long> gone = new HashSet<>(restaurantIds);
+
+        lock.writeLock().lock();
+        try {
+            for (Restaurant restaurant : restaurants) {
+                gone.remove(restaurant.getId());
+                remove(restaurant.getId());
+                if (restaurant.isOpen() && restaurant.getLatitude() != null && restaurant.getLongitude() != null) {
+                    add(restaurant);
+                }
+            }
+            gone.forEach(this::remove);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Geo index updated: {} restaurant(s) changed, {} open restaurants in {} cells",
+                restaurantIds.size(), byId.size(), cells.size());
+    }
+
+    /**
+     * Open restaurants within {@code radiusKm} of (latitude, longitude), nearest first.
+     */
+    public List<NearbyRestaurant> nearby(double latitude, double longitude, double radiusKm, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        double radius = Math.min(radiusKm, maxRadiusKm);
+        double latSpan = radius / KM_PER_DEGREE_LAT;
+        double lngSpan = radius / (KM_PER_DEGREE_LAT * Math.max(Math.cos(Math.toRadians(latitude)), 0.01));
+
+        long minRow = cellIndex(latitude - latSpan);
+        long maxRow = cellIndex(latitude + latSpan);
+        long minCol = cellIndex(longitude - lngSpan);
+        long maxCol = cellIndex(longitude + lngSpan);
+
+        List<NearbyRestaurant> found = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (long row = minRow; row <= maxRow; row++) {
+                for (long col = minCol; col <= maxCol; col++) {
+                    List<Entry> entries = cells.get(cellKey(row, col));
+                    if (entries == null) {
+                        continue;
+                    }
+                    for (Entry e : entries) {
+                        double d = haversineKm(latitude, longitude, e.latitude(), e.longitude());
+                        if (d <= radius) {
+                            found.add(new NearbyRestaurant(e.id(), e.name(), e.address(), e.latitude(), e.longitude(),
+                                    Math.round(d * 1000) / 1000.0));
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        found.sort(Comparator.comparingDouble(NearbyRestaurant::distanceKm));
+        return found.size() > limit ? found.subList(0, limit) : found;
+    }
+
+    // ---- write lock held ----
+
+    private void add(Restaurant restaurant) {
+        long cell = cellKey(cellIndex(restaurant.getLatitude()), cellIndex(restaurant.getLongitude()));
+        Entry entry = new Entry(restaurant.getId(), restaurant.getName(), restaurant.getAddress(),
+                restaurant.getLatitude(), restaurant.getLongitude(), cell);
+        byId.put(entry.id(), entry);
+        cells.computeIfAbsent(cell, c -> new ArrayList<>()).add(entry);
+    }
+
+    private void remove(Long id) {
+        Entry entry = byId.remove(id);
+        if (entry == null) {
+            return;
+        }
+        List<Entry> entries = cells.get(entry.cell());
+        entries.remove(entry);
+        if (entries.isEmpty()) {
+            cells.remove(entry.cell());
+        }
+    }
+
+    private long cellIndex(double degrees) {
+        return (long) Math.floor(degrees / cellSize);
+    }
+
+    private static long cellKey(long row, long col) {
+        return (row << 32) ^ (col & 0xffffffffL);
+    }
+
+    private static double haversineKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+}
@@ -0,0 +1,94 @@
+package com.ftgo.restaurant;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hashed timing wheel — timers keyed by deadline tick into a fixed ring of slots.
+ *
+ *   wheelSize = 8, tick = 1s, currentTick = 2
+ *
+ *     slot   0     1     2     3     4     5       6     7
+ *          [   ] [   ] [ ^ ] [ a ] [   ] [ b c ] [   ] [   ]
+ *                       now   +1s         b: +3s (rounds 0)
+ *                                         c: +11s (rounds 1 — one more lap)
+ *
+ *   schedule(): slot = deadlineTick mod wheelSize, rounds = laps to wait — O(1), no sorting.
+ *   advance():  each elapsed tick visits ONE slot: entries with rounds 0 expire, the others lose
+ *               a lap. Work per tick is the size of that slot (≈ timers / wheelSize), not a scan
+ *               or heap operation over every timer.
+ *
+ * Timers fire at most one tick after their deadline. There is no cancel — callers tag payloads
+ * (e.g. with a generation) and ignore stale ones when they expire.
+ *
+ * Not thread-safe — OpeningHoursScheduler guards it.
+ */
+final class HashedTimingWheel<T> {
+
+    private static final class Entry<T> {
+        final T payload;
+        long rounds;
+
+        Entry(T payload, long rounds) {
+            this.payload = payload;
+            this.rounds = rounds;
+        }
+    }
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final int mask;
+    private final List<List<Entry<T>>> slots;
+    /** Next tick to process. */
+    private long currentTick;
+    private int size;
+
+    /** {@code wheelSize} is rounded up to a power of two. */
+    HashedTimingWheel(long tickMillis, int wheelSize, long nowMillis) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("tickMillis and wheelSize must be positive");
+        }
+        int n = Integer.highestOneBit(wheelSize);
+        n = n == wheelSize ? n : n << 1;
+        this.tickMillis = tickMillis;
+        this.startMillis = nowMillis;
+        this.mask = n - 1;
+        this.slots = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            slots.add(new ArrayList<>());
+        }
+    }
+
+    void schedule(T payload, long deadlineMillis) {
+        long deadlineTick = Math.max(Math.floorDiv(deadlineMillis - startMillis + tickMillis - 1, tickMillis), currentTick);
+        long rounds = (deadlineTick - currentTick) / slots.size();
+        slots.get((int) (deadlineTick & mask)).add(new Entry<>(payload, rounds));
+        size++;
+    }
+
+    /** Processes every tick up to {@code nowMillis} and returns the payloads that expired. */
+    List<T> advance(long nowMillis) {
+        long nowTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+        List<T> expired = new ArrayList<>();
+        for (; currentTick <= nowTick; currentTick++) {
+            List<Entry<T>> slot = slots.get((int) (currentTick & mask));
+            for (int i = slot.size() - 1; i >= 0; i--) {
+                Entry<T> entry = slot.get(i);
+                if (entry.rounds > 0) {
+                    entry.rounds--;
+                    continue;
+                }
+                expired.add(entry.payload);
+                // swap-remove: order within a slot does not matter
+                slot.set(i, slot.get(slot.size() - 1));
+                slot.remove(slot.size() - 1);
+                size--;
+            }
+        }
+        return expired;
+    }
+
+    int size() {
+        return size;
+    }
+}
@@ -0,0 +1,32 @@
+package com.ftgo.restaurant;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+
+/**
+ * Bulk menu import — the request body is streamed, never buffered:
+ *
+ *   curl -X POST -H 'Content-Type: text/csv' --data-binary @menu.csv \
+ *        http://localhost:8081/api/restaurants/menu-items/import
+ *   curl -X POST -H 'Content-Type: application/x-ndjson' --data-binary @menu.ndjson \
+ *        http://localhost:8081/api/restaurants/menu-items/import
+ */
+@RestController
+@RequestMapping("/api/restaurants/menu-items/import")
+public class MenuImportController {
+
+    @Autowired
+    private MenuImportService menuImportService;
+
+    @PostMapping(consumes = "text/csv")
+    public MenuImportResult importCsv(InputStream body) {
+        return menuImportService.importMenuItems(body, MenuImportService.Format.CSV);
+    }
+
+    @PostMapping(consumes = "application/x-ndjson")
+    public MenuImportResult importNdjson(InputStream body) {
+        return menuImportService.importMenuItems(body, MenuImportService.Format.NDJSON);
+    }
+}
@@ -0,0 +1,16 @@
+package com.ftgo.restaurant;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @param importedByRestaurant rows inserted per restaurant id
+ * @param errors               first few rejected rows ("line 12: price must be >= 0")
+ */
+public record MenuImportResult(
+    long imported,
+    long rejected,
+    Map<Long, Long> importedByRestaurant,
+    List<String> errors,
+    long durationMs
+) {}
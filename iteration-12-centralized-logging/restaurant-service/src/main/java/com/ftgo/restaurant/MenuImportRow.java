@@ -0,0 +1,13 @@
+package com.ftgo.restaurant;
+
+import java.math.BigDecimal;
+
+/**
+ * One menu item in a bulk import — a CSV record (restaurantId,name,description,price) or an NDJSON line.
+ */
+public record MenuImportRow(
+    Long restaurantId,
+    String name,
+    String description,
+    BigDecimal price
+) {}
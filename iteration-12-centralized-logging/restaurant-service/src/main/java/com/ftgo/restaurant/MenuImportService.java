@@ -0,0 +1,230 @@
+package com.ftgo.restaurant;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Streaming bulk import of menu items — for onboarding a chain with thousands of dishes.
+ *
+ * Before: menus could only be seeded through data.sql; the API created bare restaurants.
+ *
+ * After: POST /api/restaurants/menu-items/import with a CSV or NDJSON body:
+ *
+ *   request body ──► parse one row ──► validate ──► buffer ──(batch-size rows)──► JDBC batch INSERT
+ *      (stream)         (CSV/NDJSON)     │                                           ids from
+ *                                        └─ bad row → counted + reported, skipped     MenuItemIdAllocator
+ *
+ *   - The body is never held in memory: rows are parsed incrementally off the request stream.
+ *   - Rows go out through JdbcTemplate.batchUpdate, not JPA — no entities, no persistence context
+ *     growing with every row. Ids come from the menu_item sequence in blocks of 50, so there is
+ *     no per-row IDENTITY round trip and the batch really is one statement execution.
+ *   - The whole import is one transaction: a DB failure leaves nothing behind.
+ *   - At the end each touched restaurant's version is bumped and announced ONCE through
+ *     RestaurantETags — not once per row. That single RestaurantsChangedEvent re-indexes search
+ *     and geo and makes RestaurantEventPublisher publish MENU_CHANGED with the new snapshot.
+ */
+@Slf4j
+@Service
+public class MenuImportService {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final String INSERT = "INSERT INTO menu_item (id, restaurant_id, name, description, price) VALUES (?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MenuItemIdAllocator idAllocator;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private RestaurantETags restaurantETags;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${ftgo.restaurants.import.batch-size:500}")
+    private int batchSize;
+
+    /** Mutable state of one import run. */
+    private final class Run {
+        final List<Object[]> batch = new ArrayList<>(batchSize);
+        final Map<Long, Boolean> knownRestaurants = new HashMap<>();
+        final Map<Long, Long> importedByRestaurant = new TreeMap<>();
+        final List<String> errors = new ArrayList<>();
+        long rejected;
+
+        void accept(long line, MenuImportRow row) {
+            String error = validate(row);
+            if (error != null) {
+                reject(line, error);
+                return;
+            }
+            batch.add(new Object[]{idAllocator.nextId(), row.restaurantId(), row.name().trim(),
+                    row.description() == null ? null : row.description().trim(), row.price()});
+            importedByRestaurant.merge(row.restaurantId(), 1L, Long::sum);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(long line, String error) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("line " + line + ": " + error);
+            }
+        }
+
+        void flush() {
+            if (!batch.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT, batch);
+                batch.clear();
+            }
+        }
+
+        private String validate(MenuImportRow row) {
+            if (row.restaurantId() == null) {
+                return "restaurantId is required";
+            }
+            if (row.name() == null || row.name().isBlank()) {
+                return "name is required";
+            }
+            if (row.name().length() > 255 || (row.description() != null && row.description().length() > 255)) {
+                return "name/description longer than 255 characters";
+            }
+            if (row.price() == null || row.price().signum() < 0 || row.price().scale() > 2) {
+                return "price must be >= 0 with at most 2 decimals";
+            }
+            if (!knownRestaurants.computeIfAbsent(row.restaurantId(), restaurantRepository::existsById)) {
+                return "restaurant " + row.restaurantId() + " does not exist";
+            }
+            return null;
+        }
+    }
+
+    public MenuImportResult importMenuItems(InputStream body, Format format) {
+        long start = System.currentTimeMillis();
+        Run run = transactionTemplate.execute(status -> {
+            Run r = new Run();
+            try {
+                if (format == Format.CSV) {
+                    readCsv(body, r);
+                } else {
+                    readNdjson(body, r);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read import body", e);
+            }
+            r.flush();
+            if (!r.importedByRestaurant.isEmpty()) {
+                restaurantRepository.incrementVersions(r.importedByRestaurant.keySet());
+            }
+            return r;
+        });
+
+        // Committed — announce once per restaurant
+        for (Restaurant restaurant : restaurantRepository.findAllById(run.importedByRestaurant.keySet())) {
+            restaurantETags.updated(restaurant);
+        }
+
+        long imported = run.importedByRestaurant.values().stream().mapToLong(Long::longValue).sum();
+        MenuImportResult result = new MenuImportResult(imported, run.rejected, run.importedByRestaurant,
+                run.errors, System.currentTimeMillis() - start);
+        log.info(">>> Menu import ({}): {} imported, {} rejected across {} restaurant(s) in {} ms",
+                format, imported, run.rejected, run.importedByRestaurant.size(), result.durationMs());
+        return result;
+    }
+
+    /**
+     * Header row required: restaurantId,name,description,price (any order, case-insensitive).
+     */
+    private void readCsv(InputStream body, Run run) throws IOException {
+        CsvRecordReader csv = new CsvRecordReader(new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8)));
+        List<String> header = csv.next();
+        if (header == null) {
+            return;
+        }
+        int restaurantIdCol = column(header, "restaurantId");
+        int nameCol = column(header, "name");
+        int descriptionCol = column(header, "description");
+        int priceCol = column(header, "price");
+
+        long line = csv.line();
+        List<String> record;
+        while ((record = csv.next()) != null) {
+            // A missing restaurantId/price stays null and is reported by validate()
+            String restaurantId = field(record, restaurantIdCol);
+            String price = field(record, priceCol);
+            try {
+                run.accept(line, new MenuImportRow(
+                        restaurantId == null || restaurantId.isEmpty() ? null : Long.valueOf(restaurantId),
+                        field(record, nameCol),
+                        descriptionCol < 0 ? null : field(record, descriptionCol),
+                        price == null || price.isEmpty() ? null : new BigDecimal(price)));
+            } catch (NumberFormatException e) {
+                run.reject(line, "unparseable restaurantId/price");
+            }
+            line = csv.line();
+        }
+    }
+
+    private void readNdjson(InputStream body, Run run) throws IOException {
+        long line = 0;
+        try (MappingIterator<MenuImportRow> rows = objectMapper.readerFor(MenuImportRow.class).readValues(body)) {
+            while (true) {
+                line++;
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    run.accept(line, rows.nextValue());
+                } catch (com.fasterxml.jackson.core.JsonProcessingException e) {
+                    // One malformed line can't be skipped reliably in a JSON stream — stop here
+                    throw new RuntimeException("Malformed NDJSON near row " + line + ": " + e.getOriginalMessage());
+                }
+            }
+        }
+    }
+
+    private static int column(List<String> header, String name) {
+        for (int i = 0; i < header.size(); i++) {
+            if (header.get(i).trim().equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        if (name.equals("description")) {
+            return -1;
+        }
+        throw new RuntimeException("CSV header is missing column '" + name + "' (expected restaurantId,name,description,price)");
+    }
+
+    private static String field(List<String> record, int index) {
+        return index < record.size() ? record.get(index).trim() : null;
+    }
+}
@@ -10,8 +10,14 @@ import java.math.BigDecimal;
 @Table(name = "menu_item")
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor
 public class MenuItem {
+    /**
+     * Sequence, not IDENTITY — ids can be handed out in blocks of 50 before the INSERT, so JPA
+     * and MenuImportService's JDBC batches insert many rows per round trip.
+     * MenuItemIdAllocator draws from the same sequence.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "menu_item_seq")
+    @SequenceGenerator(name = "menu_item_seq", sequenceName = "menu_item_seq", allocationSize = MenuItemIdAllocator.BLOCK_SIZE)
     private Long id;
     private String name;
     private String description;
@@ -0,0 +1,33 @@
+package com.ftgo.restaurant;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands out menu_item ids for JDBC inserts, one sequence call per BLOCK_SIZE ids.
+ *
+ * Uses the same convention as Hibernate's pooled optimizer for MenuItem's @SequenceGenerator:
+ * a sequence value v reserves the block (v - BLOCK_SIZE + 1 .. v), so ids allocated here and by
+ * JPA never collide.
+ */
+@Component
+class MenuItemIdAllocator {
+
+    static final int BLOCK_SIZE = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long next = 1;
+    private long hi = 0;
+
+    synchronized long nextId() {
+        if (next > hi) {
+            Long value = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR menu_item_seq", Long.class);
+            hi = value;
+            next = Math.max(1, value - BLOCK_SIZE + 1);
+        }
+        return next++;
+    }
+}
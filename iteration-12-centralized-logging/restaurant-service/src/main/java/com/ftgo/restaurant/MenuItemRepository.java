@@ -1,11 +1,18 @@
 package com.ftgo.restaurant;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
     List<MenuItem> findAllByIdIn(List<Long> ids);
+
+    @Query("select new com.ftgo.restaurant.MenuItemRow(m.id, m.restaurant.id, m.name, m.description, m.price) "
+            + "from MenuItem m where m.restaurant.id in :restaurantIds order by m.id")
+    List<MenuItemRow> findRowsByRestaurantIds(@Param("restaurantIds") Collection<Long> restaurantIds);
 }
@@ -0,0 +1,9 @@
+package com.ftgo.restaurant;
+
+import java.math.BigDecimal;
+
+/**
+ * Read-only menu item projection — for bulk readers (indexes, snapshots) that must not load
+ * thousands of managed MenuItem entities into the persistence context.
+ */
+public record MenuItemRow(Long id, Long restaurantId, String name, String description, BigDecimal price) {}
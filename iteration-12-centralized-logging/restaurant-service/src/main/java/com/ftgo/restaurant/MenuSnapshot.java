@@ -0,0 +1,30 @@
+package com.ftgo.restaurant;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * An immutable, content-addressed copy of one restaurant's menu.
+ *
+ * The id IS the content: hash = SHA-256 of the restaurant id and its items (see MenuSnapshots).
+ * The same menu always gets the same hash — on every replica — and a changed menu gets a new one,
+ * so a hash is a menu version that can be cached forever and quoted by orders for audits.
+ * Rows are only ever inserted, never updated or deleted.
+ */
+@Entity
+@Table(name = "menu_snapshot", indexes = @Index(columnList = "restaurantId"))
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class MenuSnapshot {
+    @Id
+    @Column(length = 64)
+    private String hash;
+    private Long restaurantId;
+    private int itemCount;
+    private LocalDateTime createdAt;
+
+    /** The snapshot document exactly as served: {"hash", "restaurantId", "createdAt", "items"}. */
+    @Lob
+    private String content;
+}
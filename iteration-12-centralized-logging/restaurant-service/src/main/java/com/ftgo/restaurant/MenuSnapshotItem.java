@@ -0,0 +1,8 @@
+package com.ftgo.restaurant;
+
+import java.math.BigDecimal;
+
+/**
+ * A menu item as captured in a menu snapshot (and carried on restaurant-events).
+ */
+public record MenuSnapshotItem(Long id, String name, String description, BigDecimal price) {}
@@ -0,0 +1,8 @@
+package com.ftgo.restaurant;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MenuSnapshotRepository extends JpaRepository<MenuSnapshot, String> {
+}
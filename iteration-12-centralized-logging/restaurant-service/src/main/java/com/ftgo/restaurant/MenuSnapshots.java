@@ -0,0 +1,168 @@
+package com.ftgo.restaurant;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable, content-addressed menu snapshots.
+ *
+ * Before: an order priced its items with GET /menu-items?ids=... on every checkout and kept only
+ *   copied names and prices — nothing said which version of the menu they came from.
+ *
+ * After: a menu is captured as a MenuSnapshot whose id is the hash of its content:
+ *
+ *     hash = SHA-256( [restaurantId, [[itemId, name, description, price], ...]] )   items by id,
+ *                                                                                   prices normalized
+ *
+ *   GET /{id}/menu/snapshot           → current snapshot (changes with the menu; ETag = hash)
+ *   GET /menu-snapshots/{hash}        → that snapshot, forever — "Cache-Control: immutable"
+ *
+ *   Orders store the hash they were priced from; a client holding a snapshot for a hash never
+ *   has to ask again. restaurant-events also carries the current hash, so a consumer learns about
+ *   a new menu version without polling.
+ *
+ * The current hash per restaurant is cached against its version ETag, so an unchanged menu is
+ * neither re-read nor re-hashed. Snapshot documents are kept in a small LRU in front of the table.
+ * Replicas computing the same hash concurrently insert the same row — the loser's duplicate-key
+ * error is ignored.
+ */
+@Slf4j
+@Component
+public class MenuSnapshots {
+
+    /** The served document; {@code json} is the stored content. */
+    public record Snapshot(String hash, byte[] json) {}
+
+    private record Current(String key, Snapshot snapshot) {}
+
+    @Autowired
+    private MenuSnapshotRepository menuSnapshotRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private RestaurantETags restaurantETags;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final ConcurrentHashMap<Long, Current> current = new ConcurrentHashMap<>();
+    private final Map<String, Snapshot> byHash;
+
+    public MenuSnapshots(@Value("${ftgo.restaurants.menu-snapshots.cache-size:1000}") int cacheSize) {
+        this.byHash = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Snapshot> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /** Snapshot of the restaurant's menu as it is now. */
+    public Snapshot current(Long restaurantId) {
+        String key = restaurantETags.restaurantETag(restaurantId);
+        Current cached = current.get(restaurantId);
+        if (cached != null && key != null && Objects.equals(cached.key(), key)) {
+            return cached.snapshot();
+        }
+        if (!restaurantRepository.existsById(restaurantId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Restaurant not found: " + restaurantId);
+        }
+        List<MenuSnapshotItem> items = menuItemRepository.findRowsByRestaurantIds(List.of(restaurantId)).stream()
+                .map(row -> new MenuSnapshotItem(row.id(), row.name(), row.description(), row.price()))
+                .toList();
+        Snapshot snapshot = capture(restaurantId, items);
+        if (key != null) {
+            current.put(restaurantId, new Current(key, snapshot));
+        }
+        return snapshot;
+    }
+
+    public Optional<Snapshot> find(String hash) {
+        Snapshot cached = byHash.get(hash);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return menuSnapshotRepository.findById(hash).map(s -> {
+            Snapshot snapshot = new Snapshot(s.getHash(), s.getContent().getBytes(StandardCharsets.UTF_8));
+            byHash.put(hash, snapshot);
+            return snapshot;
+        });
+    }
+
+    /**
+     * Stores the snapshot for these items unless it already exists and returns it.
+     * {@code items} must be ordered by id.
+     */
+    public Snapshot capture(Long restaurantId, List<MenuSnapshotItem> items) {
+        String hash = hashOf(restaurantId, items);
+        Optional<Snapshot> existing = find(hash);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+
+        LocalDateTime createdAt = LocalDateTime.now();
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("hash", hash);
+        document.put("restaurantId", restaurantId);
+        document.put("createdAt", createdAt);
+        document.put("items", items);
+        String content;
+        try {
+            content = objectMapper.writeValueAsString(document);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize menu snapshot", e);
+        }
+        try {
+            menuSnapshotRepository.save(new MenuSnapshot(hash, restaurantId, items.size(), createdAt, content));
+            log.info(">>> Menu snapshot {} captured for restaurant #{} ({} items)", hash, restaurantId, items.size());
+        } catch (DataIntegrityViolationException e) {
+            // Captured concurrently (another thread or replica) — same hash, same items
+            return find(hash).orElseThrow(() -> e);
+        }
+        Snapshot snapshot = new Snapshot(hash, content.getBytes(StandardCharsets.UTF_8));
+        byHash.put(hash, snapshot);
+        return snapshot;
+    }
+
+    private String hashOf(Long restaurantId, List<MenuSnapshotItem> items) {
+        List<Object> canonical = new ArrayList<>(items.size());
+        for (MenuSnapshotItem item : items) {
+            // 350, 350.0 and 350.00 are the same price
+            String price = item.price() == null ? null : item.price().stripTrailingZeros().toPlainString();
+            canonical.add(Arrays.asList(item.id(), item.name(), item.description(), price));
+        }
+        try {
+            byte[] bytes = objectMapper.writeValueAsBytes(List.of(restaurantId, canonical));
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new RuntimeException("Failed to hash menu snapshot", e);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.ftgo.restaurant;
+
+public record NearbyRestaurant(
+    Long id,
+    String name,
+    String address,
+    double latitude,
+    double longitude,
+    double distanceKm
+) {}
@@ -0,0 +1,30 @@
+package com.ftgo.restaurant;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * One opening period of a restaurant, in the restaurant's time zone (Restaurant.timeZone).
+ *
+ *   MONDAY 11:00–23:00   open Monday 11:00, close Monday 23:00
+ *   FRIDAY 18:00–02:00   closes <= opens → runs past midnight, closes Saturday 02:00
+ *   SUNDAY 00:00–00:00   closes == opens → open the whole 24 hours
+ *
+ * A restaurant without any periods is switched open/closed by hand only.
+ */
+@Entity
+@Table(name = "opening_hours", indexes = @Index(columnList = "restaurantId"))
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class OpeningHours {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private Long restaurantId;
+    @Enumerated(EnumType.STRING)
+    private DayOfWeek dayOfWeek;
+    private LocalTime opensAt;
+    private LocalTime closesAt;
+}
@@ -0,0 +1,22 @@
+package com.ftgo.restaurant;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OpeningHoursRepository extends JpaRepository<OpeningHours, Long> {
+
+    List<OpeningHours> findByRestaurantIdOrderByDayOfWeekAscOpensAtAsc(Long restaurantId);
+
+    List<OpeningHours> findByRestaurantIdIn(Collection<Long> restaurantIds);
+
+    @Modifying
+    @Query("delete from OpeningHours h where h.restaurantId = :restaurantId")
+    int deleteByRestaurantId(@Param("restaurantId") Long restaurantId);
+}
@@ -0,0 +1,196 @@
+package com.ftgo.restaurant;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens and closes restaurants according to their opening hours.
+ *
+ * Before: Restaurant.isOpen was a manual flag — nobody flipped it at opening time, and
+ *   order-service had to ask restaurant-service on every order whether it was set.
+ *
+ * After: every restaurant with opening hours has exactly ONE pending timer — its next transition
+ *   (open → closed or closed → open) — in a HashedTimingWheel:
+ *
+ *     plan(r)  → evaluate hours now, set isOpen accordingly, schedule(r, nextTransition)   O(1)
+ *     tick()   → advance the wheel; expired timers re-plan their restaurants              O(slot)
+ *
+ *   A tick touches one wheel slot, so tens of thousands of restaurants cost nothing between
+ *   transitions. Restaurants due in the same tick are flipped with one bulk UPDATE per direction
+ *   (only rows whose flag actually changes, version bumped), then handed to RestaurantETags —
+ *   which announces them, so RestaurantEventPublisher publishes RESTAURANT_OPENED/CLOSED.
+ *
+ * WHAT TRIGGERS A (RE-)PLAN:
+ *   Every RestaurantsChangedEvent reloads those restaurants' hours and re-plans them — the first
+ *   ETag refresh after startup (all restaurants), new hours saved here, and hours changed on another
+ *   replica (seen by that refresh). Re-planning bumps the restaurant's generation; an older timer
+ *   still in the wheel is ignored when it expires — no cancel needed.
+ *
+ * The wheel ticks on its own "opening-hours" thread. On Spring's shared scheduler thread it would
+ * wait behind RestaurantETags.refresh(), whose synchronous listeners rebuild whole indexes — and
+ * restaurants would open late by that much. A tick that runs long only delays later timers:
+ * advance() catches up with every slot it skipped.
+ *
+ * Every replica runs its own wheel. The UPDATE only touches rows whose flag differs, so replicas
+ * flipping the same restaurant at the same instant do it once. Restaurants without hours are left alone.
+ */
+@Slf4j
+@Component
+public class OpeningHoursScheduler {
+
+    private record Timer(Long restaurantId, long generation) {}
+
+    @Autowired
+    private OpeningHoursRepository openingHoursRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private RestaurantETags restaurantETags;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${ftgo.restaurants.opening-hours.default-time-zone:Asia/Kolkata}")
+    private String defaultTimeZone;
+
+    private final long tickMillis;
+    private final HashedTimingWheel<Timer> wheel;
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "opening-hours");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // guarded by this
+    private final Map<Long, WeeklySchedule> schedules = new HashMap<>();
+    private final Map<Long, Long> generations = new HashMap<>();
+    private final Set<Long> failed = new HashSet<>();
+
+    public OpeningHoursScheduler(@Value("${ftgo.restaurants.opening-hours.tick-ms:1000}") long tickMillis,
+                                 @Value("${ftgo.restaurants.opening-hours.wheel-size:4096}") int wheelSize) {
+        this.tickMillis = tickMillis;
+        this.wheel = new HashedTimingWheel<>(tickMillis, wheelSize, System.currentTimeMillis());
+    }
+
+    @PostConstruct
+    void start() {
+        ticker.scheduleWithFixedDelay(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+    }
+
+    @EventListener
+    public void onRestaurantsChanged(RestaurantsChangedEvent event) {
+        restaurantETags.deliver("Opening hours", event.restaurantIds(), this::reload);
+    }
+
+    private void reload(Set<Long> restaurantIds) {
+        Map<Long, List<OpeningHours>> hours = new HashMap<>();
+        for (OpeningHours h : openingHoursRepository.findByRestaurantIdIn(restaurantIds)) {
+            hours.computeIfAbsent(h.getRestaurantId(), id -> new ArrayList<>()).add(h);
+        }
+        Map<Long, ZoneId> zones = new HashMap<>();
+        if (!hours.isEmpty()) {
+            restaurantRepository.findAllById(hours.keySet()).forEach(r -> zones.put(r.getId(), zoneOf(r)));
+        }
+        synchronized (this) {
+            for (Long id : restaurantIds) {
+                if (hours.containsKey(id) && zones.containsKey(id)) {
+                    schedules.put(id, new WeeklySchedule(zones.get(id), hours.get(id)));
+                } else {
+                    schedules.remove(id);
+                }
+            }
+        }
+        plan(restaurantIds);
+    }
+
+    public void tick() {
+        Set<Long> due = new HashSet<>();
+        synchronized (this) {
+            due.addAll(failed);
+            failed.clear();
+            for (Timer timer : wheel.advance(System.currentTimeMillis())) {
+                if (generations.getOrDefault(timer.restaurantId(), 0L) == timer.generation()) {
+                    due.add(timer.restaurantId());
+                }
+            }
+        }
+        if (due.isEmpty()) {
+            return;
+        }
+        try {
+            plan(due);
+        } catch (RuntimeException e) {
+            // keep ticking — these restaurants are re-planned on the next tick
+            log.error(">>> Opening hours tick for {} restaurant(s) failed: {}", due.size(), e.getMessage(), e);
+            synchronized (this) {
+                failed.addAll(due);
+            }
+        }
+    }
+
+    private void plan(Collection<Long> restaurantIds) {
+        Instant now = Instant.now();
+        Set<Long> open = new HashSet<>();
+        Set<Long> closed = new HashSet<>();
+        synchronized (this) {
+            for (Long id : restaurantIds) {
+                long generation = generations.merge(id, 1L, Long::sum);
+                WeeklySchedule schedule = schedules.get(id);
+                if (schedule == null) {
+                    generations.remove(id);
+                    continue;
+                }
+                (schedule.isOpenAt(now) ? open : closed).add(id);
+                Instant next = schedule.nextTransitionAfter(now);
+                if (next != null) {
+                    wheel.schedule(new Timer(id, generation), next.toEpochMilli());
+                }
+            }
+        }
+        apply(open, true);
+        apply(closed, false);
+    }
+
+    private void apply(Set<Long> ids, boolean open) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Integer flipped = transactionTemplate.execute(status -> restaurantRepository.updateOpen(ids, open));
+        if (flipped == null || flipped == 0) {
+            return;
+        }
+        log.info(">>> Opening hours: {} {} restaurant(s)", open ? "opened" : "closed", flipped);
+        for (Restaurant restaurant : restaurantRepository.findAllById(ids)) {
+            restaurantETags.updated(restaurant);
+        }
+    }
+
+    private ZoneId zoneOf(Restaurant restaurant) {
+        return ZoneId.of(restaurant.getTimeZone() != null ? restaurant.getTimeZone() : defaultTimeZone);
+    }
+}
@@ -0,0 +1,111 @@
+package com.ftgo.restaurant;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Term dictionary for prefix lookups (autocomplete).
+ *
+ *   add("butter"), add("biryani"), add("bhature")
+ *
+ *        b ─┬─ u ─ t ─ t ─ e ─ r*
+ *           ├─ i ─ r ─ y ─ a ─ n ─ i*
+ *           └─ h ─ a ─ t ─ u ─ r ─ e*
+ *
+ *   complete("b", 10) → [bhature, biryani, butter]   (lexicographic, children kept sorted)
+ *
+ * Children are a sorted char[] + parallel Node[] — food vocabulary has small fan-out, so a binary
+ * search over a few chars beats a HashMap per node in both memory and speed. A lookup walks
+ * len(prefix) nodes and then collects at most {@code max} terms below it.
+ *
+ * Not thread-safe — SearchIndex guards it with its read/write lock.
+ */
+final class PrefixTrie {
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private static final class Node {
+        char[] keys = NO_KEYS;
+        Node[] children = NO_CHILDREN;
+        String term;
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        Node childOrCreate(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            if (i >= 0) {
+                return children[i];
+            }
+            int at = -i - 1;
+            char[] k = new char[keys.length + 1];
+            Node[] n = new Node[children.length + 1];
+            System.arraycopy(keys, 0, k, 0, at);
+            System.arraycopy(children, 0, n, 0, at);
+            System.arraycopy(keys, at, k, at + 1, keys.length - at);
+            System.arraycopy(children, at, n, at + 1, children.length - at);
+            k[at] = c;
+            n[at] = new Node();
+            keys = k;
+            children = n;
+            return n[at];
+        }
+    }
+
+    private final Node root = new Node();
+
+    void add(String term) {
+        Node node = root;
+        for (int i = 0; i < term.length(); i++) {
+            node = node.childOrCreate(term.charAt(i));
+        }
+        node.term = term;
+    }
+
+    /**
+     * Unmarks the term. Empty branches are left in place — they cost a few bytes and the
+     * vocabulary of a menu catalog barely shrinks.
+     */
+    void remove(String term) {
+        Node node = find(term);
+        if (node != null) {
+            node.term = null;
+        }
+    }
+
+    List<String> complete(String prefix, int max) {
+        List<String> terms = new ArrayList<>();
+        Node node = find(prefix);
+        if (node != null) {
+            collect(node, terms, max);
+        }
+        return terms;
+    }
+
+    private Node find(String prefix) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        return node;
+    }
+
+    private static void collect(Node node, List<String> terms, int max) {
+        if (terms.size() >= max) {
+            return;
+        }
+        if (node.term != null) {
+            terms.add(node.term);
+        }
+        for (Node child : node.children) {
+            collect(child, terms, max);
+            if (terms.size() >= max) {
+                return;
+            }
+        }
+    }
+}
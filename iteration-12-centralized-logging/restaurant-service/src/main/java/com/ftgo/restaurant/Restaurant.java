@@ -19,6 +19,17 @@ public class Restaurant {
     private String phone;
     private boolean isOpen;
 
+    /** WGS84 degrees — optional; restaurants without coordinates are left out of GeoIndex. */
+    private Double latitude;
+    private Double longitude;
+
+    /** IANA zone its opening hours are in (OpeningHours) — null means the configured default. */
+    private String timeZone;
+
+    /** Bumped on every change to the restaurant or its menu — the basis of its ETag (RestaurantETags). */
+    @Version
+    private long version;
+
     @OneToMany(mappedBy = "restaurant", cascade = CascadeType.ALL)
     @JsonManagedReference
     private List<MenuItem> menuItems = new ArrayList<>();
@@ -1,11 +1,30 @@
 package com.ftgo.restaurant;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+/**
+ * Catalog reads are conditional: each response carries a strong ETag and "Cache-Control: no-cache"
+ * (store, but revalidate). A request whose If-None-Match matches the current version gets
+ * 304 Not Modified straight from RestaurantETags — no query, no serialization.
+ *
+ * The catalog and menus are written from CatalogResponseCache's pre-serialized bytes (gzipped
+ * when the client accepts it), so even a 200 costs no Jackson work until the data changes.
+ */
 @RestController
 @RequestMapping("/api/restaurants")
 public class RestaurantController {
@@ -13,14 +32,73 @@ public class RestaurantController {
     @Autowired
     private RestaurantService restaurantService;
 
+    @Autowired
+    private RestaurantETags restaurantETags;
+
+    @Autowired
+    private CatalogResponseCache catalogResponseCache;
+
+    @Autowired
+    private GeoIndex geoIndex;
+
+    @Autowired
+    private MenuSnapshots menuSnapshots;
+
     @GetMapping
-    public List<Restaurant> getAllRestaurants() {
-        return restaurantService.getAllRestaurants();
+    public ResponseEntity<byte[]> getAllRestaurants(WebRequest request) {
+        if (notModified(request, restaurantETags.catalogETag())) {
+            return null;
+        }
+        return serialized(catalogResponseCache.catalog(), request);
+    }
+
+    /**
+     * Listing without menus: GET /api/restaurants/summary?fields=id,name,open
+     * fields is optional (default: all summary fields). Shares the catalog ETag.
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<List<Map<String, Object>>> getRestaurantSummaries(
+            @RequestParam(required = false) String fields, WebRequest request) {
+        if (notModified(request, restaurantETags.catalogETag())) {
+            return null;
+        }
+        Set<String> selected = parseFields(fields);
+        List<RestaurantSummary> summaries = restaurantService.getRestaurantSummaries();
+        return conditional(RestaurantETags.ofSummaries(summaries),
+                summaries.stream().map(s -> s.select(selected)).toList());
+    }
+
+    /**
+     * One restaurant without its menu: GET /api/restaurants/{id}/summary?fields=id,name,open
+     */
+    @GetMapping("/{id}/summary")
+    public ResponseEntity<Map<String, Object>> getRestaurantSummary(
+            @PathVariable Long id, @RequestParam(required = false) String fields, WebRequest request) {
+        if (notModified(request, restaurantETags.restaurantETag(id))) {
+            return null;
+        }
+        RestaurantSummary summary = restaurantService.getRestaurantSummary(id);
+        return conditional(RestaurantETags.of(summary), summary.select(parseFields(fields)));
+    }
+
+    /**
+     * Open restaurants near a point, nearest first:
+     * GET /api/restaurants/nearby?lat=19.07&lng=72.87&radiusKm=5&limit=20
+     */
+    @GetMapping("/nearby")
+    public List<NearbyRestaurant> getNearbyRestaurants(@RequestParam double lat, @RequestParam double lng,
+                                                       @RequestParam(defaultValue = "5") double radiusKm,
+                                                       @RequestParam(defaultValue = "20") int limit) {
+        return geoIndex.nearby(lat, lng, radiusKm, Math.max(0, Math.min(limit, 100)));
     }
 
     @GetMapping("/{id}")
-    public Restaurant getRestaurant(@PathVariable Long id) {
-        return restaurantService.getRestaurant(id);
+    public ResponseEntity<Restaurant> getRestaurant(@PathVariable Long id, WebRequest request) {
+        if (notModified(request, restaurantETags.restaurantETag(id))) {
+            return null;
+        }
+        Restaurant restaurant = restaurantService.getRestaurant(id);
+        return conditional(RestaurantETags.of(restaurant), restaurant);
     }
 
     @PostMapping
@@ -28,13 +106,69 @@ public class RestaurantController {
         String name = body.get("name");
         String address = body.get("address");
         String phone = body.get("phone");
-        return restaurantService.createRestaurant(name, address, phone);
+        Double latitude = body.containsKey("latitude") ? Double.valueOf(body.get("latitude")) : null;
+        Double longitude = body.containsKey("longitude") ? Double.valueOf(body.get("longitude")) : null;
+        return restaurantService.createRestaurant(name, address, phone, latitude, longitude);
+    }
+
+    @GetMapping("/{id}/opening-hours")
+    public WeeklyHours getOpeningHours(@PathVariable Long id) {
+        return restaurantService.getOpeningHours(id);
+    }
+
+    /**
+     * Replaces the weekly opening hours — from then on the restaurant opens and closes on its own
+     * (OpeningHoursScheduler). An empty "periods" list returns it to manual control.
+     */
+    @PutMapping("/{id}/opening-hours")
+    public WeeklyHours setOpeningHours(@PathVariable Long id, @RequestBody WeeklyHours hours) {
+        return restaurantService.setOpeningHours(id, hours);
     }
 
+    /**
+     * Shares the restaurant's ETag — a menu change bumps the restaurant version.
+     */
     @GetMapping("/{id}/menu")
-    public List<MenuItem> getMenu(@PathVariable Long id) {
-        Restaurant restaurant = restaurantService.getRestaurant(id);
-        return restaurant.getMenuItems();
+    public ResponseEntity<byte[]> getMenu(@PathVariable Long id, WebRequest request) {
+        if (notModified(request, restaurantETags.restaurantETag(id))) {
+            return null;
+        }
+        return serialized(catalogResponseCache.menu(id), request);
+    }
+
+    /**
+     * The menu as it is now, as an immutable snapshot. The ETag is the snapshot hash;
+     * Content-Location is the permanent URL of this version.
+     */
+    @GetMapping("/{id}/menu/snapshot")
+    public ResponseEntity<byte[]> getCurrentMenuSnapshot(@PathVariable Long id, WebRequest request) {
+        MenuSnapshots.Snapshot snapshot = menuSnapshots.current(id);
+        if (notModified(request, "\"" + snapshot.hash() + "\"")) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.hash())
+                .cacheControl(CacheControl.noCache())
+                .header(HttpHeaders.CONTENT_LOCATION, "/api/restaurants/menu-snapshots/" + snapshot.hash())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.json());
+    }
+
+    /**
+     * A menu version by hash — never changes, so clients and proxies may cache it for good.
+     */
+    @GetMapping("/menu-snapshots/{hash}")
+    public ResponseEntity<byte[]> getMenuSnapshot(@PathVariable String hash, WebRequest request) {
+        if (notModified(request, "\"" + hash + "\"")) {
+            return null;
+        }
+        MenuSnapshots.Snapshot snapshot = menuSnapshots.find(hash)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Menu snapshot not found: " + hash));
+        return ResponseEntity.ok()
+                .eTag(snapshot.hash())
+                .cacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.json());
     }
 
     /**
@@ -46,4 +180,49 @@ public class RestaurantController {
     public List<MenuItem> getMenuItemsByIds(@RequestParam List<Long> ids) {
         return restaurantService.getMenuItemsByIds(ids);
     }
+
+    private static Set<String> parseFields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return RestaurantSummary.FIELDS;
+        }
+        Set<String> selected = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(f -> !f.isEmpty())
+                .collect(Collectors.toSet());
+        if (!RestaurantSummary.FIELDS.containsAll(selected)) {
+            selected.removeAll(RestaurantSummary.FIELDS);
+            throw new RuntimeException("Unknown fields " + selected + " — allowed: " + RestaurantSummary.FIELDS);
+        }
+        return selected;
+    }
+
+    /**
+     * Sets 304 + ETag on the response when If-None-Match matches; the handler then returns null.
+     */
+    private static boolean notModified(WebRequest request, String etag) {
+        return etag != null && request.checkNotModified(etag);
+    }
+
+    /**
+     * Writes cached bytes as-is. Same ETag for both encodings; Vary tells caches they differ.
+     */
+    private static ResponseEntity<byte[]> serialized(CatalogResponseCache.Body body, WebRequest request) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(body.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (body.gzip() != null && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.gzip());
+        }
+        return response.body(body.json());
+    }
+
+    private static <T> ResponseEntity<T> conditional(String etag, T body) {
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(body);
+    }
 }
@@ -0,0 +1,185 @@
+package com.ftgo.restaurant;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Strong ETags for the restaurant catalog, answered from memory.
+ *
+ * Before: GET /api/restaurants, /{id} and /{id}/menu re-queried the restaurant graph and ran
+ *   Jackson over it on every call — although menus rarely change and ftgo-web polls them.
+ *
+ * After: every restaurant carries a JPA @Version, bumped on each change to it or its menu.
+ *   The validators are derived from versions only:
+ *
+ *     restaurant  "r1-v3"              — restaurant #1 at version 3 (also covers its menu)
+ *     catalog     "c3-5e0f9a1c2b7d4e60" — restaurant count + hash of every (id, version)
+ *
+ *   The version map lives here, so a matching If-None-Match is answered with 304 before any
+ *   repository call. Local writes update it immediately; writes on other replicas are picked
+ *   up by the periodic refresh (one "select id, version" query), so a replica may keep
+ *   answering 304 for up to refresh-interval-ms after a change elsewhere.
+ *
+ * The same version always yields the same ETag on every replica — the validators are strong
+ * and safe to compare across instances behind the gateway.
+ *
+ * Every detected change (local write, or a refresh that sees a new/changed/removed id) is also
+ * announced as a RestaurantsChangedEvent, so in-memory indexes can update just those restaurants.
+ * The first refresh after startup reports every restaurant.
+ *
+ * Listeners run synchronously, after the new versions are already in place — a change they miss
+ * is never seen as a difference again. So each listener applies its share through deliver(): a
+ * failure is logged and its ids are kept for THAT listener and retried on every refresh until it
+ * succeeds. The other listeners still run, and the write that announced the change does not fail.
+ */
+@Slf4j
+@Component
+public class RestaurantETags {
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private record Retry(Consumer<Set<Long>> handler, Set<Long> restaurantIds) {}
+
+    private volatile Map<Long, Long> versions = Map.of();
+    private volatile String catalogETag;
+    private final Map<String, Retry> retries = new ConcurrentHashMap<>();
+
+    public static String of(Restaurant restaurant) {
+        return restaurantETag(restaurant.getId(), restaurant.getVersion());
+    }
+
+    public static String of(RestaurantSummary summary) {
+        return restaurantETag(summary.id(), summary.version());
+    }
+
+    public static String ofCatalog(Collection<Restaurant> restaurants) {
+        TreeMap<Long, Long> sorted = new TreeMap<>();
+        restaurants.forEach(r -> sorted.put(r.getId(), r.getVersion()));
+        return catalogETag(sorted);
+    }
+
+    public static String ofSummaries(Collection<RestaurantSummary> summaries) {
+        TreeMap<Long, Long> sorted = new TreeMap<>();
+        summaries.forEach(s -> sorted.put(s.id(), s.version()));
+        return catalogETag(sorted);
+    }
+
+    /** Current ETag of restaurant {@code id}, or null if unknown (let the request hit the DB). */
+    public String restaurantETag(Long id) {
+        Long version = versions.get(id);
+        return version == null ? null : restaurantETag(id, version);
+    }
+
+    /** Current catalog ETag, or null before the first refresh. */
+    public String catalogETag() {
+        return catalogETag;
+    }
+
+    /** Called after a local write has committed. */
+    public void updated(Restaurant restaurant) {
+        Set<Long> changed;
+        synchronized (this) {
+            TreeMap<Long, Long> next = new TreeMap<>(versions);
+            // A concurrent refresh may already have seen a later version
+            next.merge(restaurant.getId(), restaurant.getVersion(), Math::max);
+            changed = publish(next);
+        }
+        announce(changed);
+    }
+
+    @Scheduled(fixedDelayString = "${ftgo.restaurants.etag.refresh-interval-ms:5000}")
+    public void refresh() {
+        List<RestaurantVersion> current = restaurantRepository.findAllVersions();
+        TreeMap<Long, Long> next = new TreeMap<>();
+        current.forEach(v -> next.put(v.id(), v.version()));
+        Set<Long> changed = Set.of();
+        synchronized (this) {
+            if (!next.equals(versions)) {
+                changed = publish(next);
+                log.debug("Restaurant versions refreshed — catalog ETag {}", catalogETag);
+            }
+        }
+        announce(changed);
+        retryFailedDeliveries();
+    }
+
+    /**
+     * Runs one listener's handling of a RestaurantsChangedEvent. If it throws, the ids are kept
+     * for {@code listener} and handed to {@code handler} again on the next refresh.
+     */
+    public void deliver(String listener, Set<Long> restaurantIds, Consumer<Set<Long>> handler) {
+        try {
+            handler.accept(restaurantIds);
+        } catch (RuntimeException e) {
+            log.error(">>> {} failed on {} changed restaurant(s) — retrying on the next refresh: {}",
+                    listener, restaurantIds.size(), e.getMessage(), e);
+            Set<Long> pending = ConcurrentHashMap.newKeySet();
+            pending.addAll(restaurantIds);
+            retries.merge(listener, new Retry(handler, pending), (current, next) -> {
+                current.restaurantIds().addAll(next.restaurantIds());
+                return current;
+            });
+        }
+    }
+
+    private void retryFailedDeliveries() {
+        for (String listener : List.copyOf(retries.keySet())) {
+            Retry retry = retries.remove(listener);
+            if (retry != null) {
+                deliver(listener, Set.copyOf(retry.restaurantIds()), retry.handler());
+            }
+        }
+    }
+
+    /** Swaps in the new versions and returns the ids that were added, changed or removed. */
+    private Set<Long> publish(TreeMap<Long, Long> next) {
+        Map<Long, Long> previous = versions;
+        Set<Long> changed = new HashSet<>();
+        next.forEach((id, version) -> {
+            if (!Objects.equals(previous.get(id), version)) {
+                changed.add(id);
+            }
+        });
+        previous.keySet().stream().filter(id -> !next.containsKey(id)).forEach(changed::add);
+
+        versions = next;
+        catalogETag = catalogETag(next);
+        return changed;
+    }
+
+    private void announce(Set<Long> changed) {
+        if (!changed.isEmpty()) {
+            eventPublisher.publishEvent(new RestaurantsChangedEvent(changed));
+        }
+    }
+
+    private static String restaurantETag(Long id, long version) {
+        return "\"r" + id + "-v" + version + "\"";
+    }
+
+    private static String catalogETag(TreeMap<Long, Long> sorted) {
+        long hash = 1125899906842597L;
+        for (Map.Entry<Long, Long> e : sorted.entrySet()) {
+            hash = 31 * hash + e.getKey();
+            hash = 31 * hash + e.getValue();
+        }
+        return "\"c" + sorted.size() + "-" + Long.toHexString(hash) + "\"";
+    }
+}
@@ -0,0 +1,36 @@
+package com.ftgo.restaurant;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Record on the compacted restaurant-events topic, keyed by restaurant id.
+ *
+ * Event-carried state transfer: the value is the restaurant's COMPLETE current state (details,
+ * open flag, whole menu) at {@code version}, not a delta. Compaction keeps only the latest record
+ * per key, so reading the topic from the beginning yields exactly one full restaurant per key —
+ * a consumer rebuilds its replica without calling restaurant-service.
+ * A deleted restaurant is a tombstone (null value) under its key.
+ *
+ * This is the CONTRACT between producer (restaurant-service) and consumers (order-service, ...).
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @ToString(exclude = "menuItems")
+public class RestaurantEvent {
+    /** Unique per publish. */
+    private String eventId;
+    private RestaurantEventType type;
+    private Long restaurantId;
+    /** Restaurant @Version — consumers ignore a record older than what they already hold. */
+    private long version;
+    private String name;
+    private String address;
+    private String phone;
+    private boolean open;
+    private Double latitude;
+    private Double longitude;
+    /** Hash of the menu snapshot these items form — fetchable forever from /api/restaurants/menu-snapshots/{hash}. */
+    private String menuSnapshot;
+    private List<MenuSnapshotItem> menuItems = new ArrayList<>();
+}
@@ -0,0 +1,176 @@
+package com.ftgo.restaurant;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Publishes restaurant changes to the compacted restaurant-events topic (see RestaurantEventsConfig).
+ *
+ * Before: downstream services could only ask restaurant-service over REST — nothing announced
+ *   a new restaurant, an opened/closed restaurant or a repriced menu, so nobody could safely
+ *   keep a local copy.
+ *
+ * After: every RestaurantsChangedEvent (published by RestaurantETags for local writes, bulk
+ *   imports and changes seen by its periodic refresh) is turned into one record per restaurant:
+ *
+ *     key   = restaurant id
+ *     value = RestaurantEvent — the FULL current state at its @Version, menu included, plus the
+ *             hash of that menu's snapshot (MenuSnapshots, captured here if new)
+ *             (null tombstone when the restaurant no longer exists)
+ *
+ *   The type is derived by comparing with what this instance last published:
+ *     never published      → RESTAURANT_UPSERTED
+ *     open flag flipped    → RESTAURANT_OPENED / RESTAURANT_CLOSED
+ *     menu content changed → MENU_CHANGED
+ *     anything else        → RESTAURANT_UPSERTED
+ *   A version that was already published is skipped.
+ *
+ * Each instance re-publishes every restaurant once at startup (RestaurantETags' first refresh
+ * reports them all) — harmless on a compacted topic, and it repairs anything missed while down.
+ * Publishing runs on the single "restaurant-events" thread, off the request thread and in order.
+ * Failed sends are retried (with the then-current state) every retry-interval-ms.
+ */
+@Slf4j
+@Component
+public class RestaurantEventPublisher {
+
+    private record Published(long version, boolean open, String menuSnapshot) {}
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private MenuSnapshots menuSnapshots;
+
+    @Autowired
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Autowired
+    private RestaurantETags restaurantETags;
+
+    @Autowired
+    @Qualifier("restaurantEventExecutor")
+    private Executor executor;
+
+    @Value("${ftgo.restaurants.events.topic:restaurant-events}")
+    private String topic;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Long, Published> published = new ConcurrentHashMap<>();
+    private final Set<Long> unpublished = ConcurrentHashMap.newKeySet();
+
+    @EventListener
+    public void onRestaurantsChanged(RestaurantsChangedEvent event) {
+        restaurantETags.deliver("restaurant-events publisher", Set.copyOf(event.restaurantIds()),
+                ids -> executor.execute(() -> publish(ids)));
+    }
+
+    @Scheduled(fixedDelayString = "${ftgo.restaurants.events.retry-interval-ms:10000}")
+    public void retryUnpublished() {
+        if (unpublished.isEmpty()) {
+            return;
+        }
+        Set<Long> ids = Set.copyOf(unpublished);
+        unpublished.removeAll(ids);
+        log.info(">>> Retrying restaurant-events publish for {} restaurant(s)", ids.size());
+        executor.execute(() -> publish(ids));
+    }
+
+    private void publish(Set<Long> ids) {
+        Map<Long, Restaurant> restaurants = new HashMap<>();
+        restaurantRepository.findAllById(ids).forEach(r -> restaurants.put(r.getId(), r));
+        Map<Long, List<MenuSnapshotItem>> menus = new HashMap<>();
+        if (!restaurants.isEmpty()) {
+            for (MenuItemRow row : menuItemRepository.findRowsByRestaurantIds(restaurants.keySet())) {
+                menus.computeIfAbsent(row.restaurantId(), id -> new ArrayList<>())
+                        .add(new MenuSnapshotItem(row.id(), row.name(), row.description(), row.price()));
+            }
+        }
+
+        for (Long id : ids) {
+            Restaurant restaurant = restaurants.get(id);
+            if (restaurant == null) {
+                published.remove(id);
+                send(id, null, null);
+                continue;
+            }
+            List<MenuSnapshotItem> menu = menus.getOrDefault(id, List.of());
+            Published previous = published.get(id);
+            if (previous != null && previous.version() >= restaurant.getVersion()) {
+                continue;
+            }
+            String menuSnapshot = menuSnapshots.capture(id, menu).hash();
+            Published current = new Published(restaurant.getVersion(), restaurant.isOpen(), menuSnapshot);
+            RestaurantEvent event = new RestaurantEvent(UUID.randomUUID().toString(), typeOf(previous, current),
+                    restaurant.getId(), restaurant.getVersion(), restaurant.getName(), restaurant.getAddress(),
+                    restaurant.getPhone(), restaurant.isOpen(), restaurant.getLatitude(), restaurant.getLongitude(),
+                    menuSnapshot, menu);
+            published.put(id, current);
+            send(id, event, current);
+        }
+    }
+
+    private static RestaurantEventType typeOf(Published previous, Published current) {
+        if (previous == null) {
+            return RestaurantEventType.RESTAURANT_UPSERTED;
+        }
+        if (previous.open() != current.open()) {
+            return current.open() ? RestaurantEventType.RESTAURANT_OPENED : RestaurantEventType.RESTAURANT_CLOSED;
+        }
+        if (!previous.menuSnapshot().equals(current.menuSnapshot())) {
+            return RestaurantEventType.MENU_CHANGED;
+        }
+        return RestaurantEventType.RESTAURANT_UPSERTED;
+    }
+
+    /** {@code event == null} sends a tombstone. */
+    private void send(Long id, RestaurantEvent event, Published state) {
+        String json;
+        try {
+            json = event == null ? null : objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize restaurant event for #{}: {}", id, e.getMessage(), e);
+            return;
+        }
+        try {
+            kafkaTemplate.send(topic, String.valueOf(id), json).whenComplete((result, e) -> {
+                if (e == null) {
+                    log.info(">>> Published {} for restaurant #{}{}", event == null ? "tombstone" : event.getType(), id,
+                            event == null ? "" : " v" + event.getVersion() + " (" + event.getMenuItems().size() + " menu items)");
+                } else {
+                    failed(id, state, e);
+                }
+            });
+        } catch (RuntimeException e) {
+            failed(id, state, e);
+        }
+    }
+
+    private void failed(Long id, Published state, Throwable e) {
+        log.warn(">>> Failed to publish restaurant #{} to {} — will retry: {}", id, topic, e.getMessage());
+        if (state != null) {
+            published.remove(id, state);
+        }
+        unpublished.add(id);
+    }
+}
@@ -0,0 +1,12 @@
+package com.ftgo.restaurant;
+
+/**
+ * Why a restaurant-events record was published. Every record carries the full restaurant state
+ * regardless of type — the type only tells consumers what changed since the previous record.
+ */
+public enum RestaurantEventType {
+    RESTAURANT_UPSERTED,
+    MENU_CHANGED,
+    RESTAURANT_OPENED,
+    RESTAURANT_CLOSED
+}
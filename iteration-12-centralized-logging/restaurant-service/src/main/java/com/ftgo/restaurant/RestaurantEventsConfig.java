@@ -0,0 +1,56 @@
+package com.ftgo.restaurant;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.config.TopicConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+/**
+ * The restaurant-events topic and the thread that publishes to it.
+ *
+ * COMPACTED, NOT RETAINED BY TIME:
+ *   cleanup.policy=compact keeps the newest record per restaurant id forever and drops the
+ *   superseded ones. The topic stays roughly "one record per restaurant" in size, so a new
+ *   consumer that reads it from offset 0 has a full replica within seconds — however long the
+ *   topic has existed. Small segments and a low dirty ratio let the cleaner run soon after
+ *   changes; tombstones are kept for delete-retention-ms so slow consumers still see deletions.
+ *
+ * ONE PUBLISHER THREAD:
+ *   Compaction keeps the LAST record per key by offset. Two threads publishing the same
+ *   restaurant could land an older state after a newer one — so publishing is single-threaded.
+ */
+@Configuration
+public class RestaurantEventsConfig {
+
+    @Bean
+    public NewTopic restaurantEventsTopic(
+            @Value("${ftgo.restaurants.events.topic:restaurant-events}") String topic,
+            @Value("${ftgo.restaurants.events.partitions:3}") int partitions,
+            @Value("${ftgo.restaurants.events.replicas:1}") int replicas,
+            @Value("${ftgo.restaurants.events.max-message-bytes:4194304}") int maxMessageBytes) {
+        return TopicBuilder.name(topic)
+                .partitions(partitions)
+                .replicas(replicas)
+                .compact()
+                .config(TopicConfig.MIN_CLEANABLE_DIRTY_RATIO_CONFIG, "0.1")
+                .config(TopicConfig.SEGMENT_MS_CONFIG, "600000")
+                .config(TopicConfig.DELETE_RETENTION_MS_CONFIG, "86400000")
+                .config(TopicConfig.MAX_MESSAGE_BYTES_CONFIG, String.valueOf(maxMessageBytes))
+                .build();
+    }
+
+    @Bean(name = "restaurantEventExecutor")
+    public Executor restaurantEventExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("restaurant-events-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -1,8 +1,39 @@
 package com.ftgo.restaurant;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface RestaurantRepository extends JpaRepository<Restaurant, Long> {
+
+    @Query("select new com.ftgo.restaurant.RestaurantVersion(r.id, r.version) from Restaurant r")
+    List<RestaurantVersion> findAllVersions();
+
+    /** Menu rows written outside JPA still have to move the restaurant's ETag. */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Restaurant r set r.version = r.version + 1 where r.id in :ids")
+    int incrementVersions(@Param("ids") Collection<Long> ids);
+
+    /** Flips only rows whose flag differs — so concurrent replicas applying the same transition do it once. */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Restaurant r set r.isOpen = :open, r.version = r.version + 1 where r.id in :ids and r.isOpen <> :open")
+    int updateOpen(@Param("ids") Collection<Long> ids, @Param("open") boolean open);
+
+    String SUMMARY = "select new com.ftgo.restaurant.RestaurantSummary("
+            + "r.id, r.name, r.address, r.phone, r.isOpen, r.version, count(m)) "
+            + "from Restaurant r left join r.menuItems m ";
+    String SUMMARY_GROUP_BY = " group by r.id, r.name, r.address, r.phone, r.isOpen, r.version";
+
+    @Query(SUMMARY + SUMMARY_GROUP_BY + " order by r.id")
+    List<RestaurantSummary> findAllSummaries();
+
+    @Query(SUMMARY + "where r.id = :id" + SUMMARY_GROUP_BY)
+    Optional<RestaurantSummary> findSummaryById(@Param("id") Long id);
 }
@@ -0,0 +1,32 @@
+package com.ftgo.restaurant;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Search over restaurants and menu items, served from the in-memory SearchIndex.
+ *
+ *   GET /api/restaurants/search?q=butter chick&limit=20  — ranked hits; the last word is a prefix
+ *   GET /api/restaurants/search/suggest?prefix=bir       — autocomplete terms
+ */
+@RestController
+@RequestMapping("/api/restaurants/search")
+public class RestaurantSearchController {
+
+    private static final int MAX_LIMIT = 100;
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @GetMapping
+    public List<SearchHit> search(@RequestParam String q, @RequestParam(defaultValue = "20") int limit) {
+        return searchIndex.search(q, Math.max(0, Math.min(limit, MAX_LIMIT)));
+    }
+
+    @GetMapping("/suggest")
+    public List<String> suggest(@RequestParam String prefix, @RequestParam(defaultValue = "10") int limit) {
+        return searchIndex.suggest(prefix, Math.max(0, Math.min(limit, MAX_LIMIT)));
+    }
+}
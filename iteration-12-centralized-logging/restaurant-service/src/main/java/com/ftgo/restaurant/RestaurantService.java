@@ -1,8 +1,13 @@
 package com.ftgo.restaurant;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.DateTimeException;
+import java.time.ZoneId;
 import java.util.List;
 
 @Service
@@ -14,25 +19,88 @@ public class RestaurantService {
     @Autowired
     private MenuItemRepository menuItemRepository;
 
+    @Autowired
+    private RestaurantETags restaurantETags;
+
+    @Autowired
+    private OpeningHoursRepository openingHoursRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     public Restaurant getRestaurant(Long id) {
         return restaurantRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Restaurant not found: " + id));
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Restaurant not found: " + id));
     }
 
     public List<MenuItem> getMenuItemsByIds(List<Long> ids) {
         return menuItemRepository.findAllByIdIn(ids);
     }
 
+    public List<RestaurantSummary> getRestaurantSummaries() {
+        return restaurantRepository.findAllSummaries();
+    }
+
+    public RestaurantSummary getRestaurantSummary(Long id) {
+        return restaurantRepository.findSummaryById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Restaurant not found: " + id));
+    }
+
+    public WeeklyHours getOpeningHours(Long id) {
+        Restaurant restaurant = getRestaurant(id);
+        List<WeeklyHours.Period> periods = openingHoursRepository.findByRestaurantIdOrderByDayOfWeekAscOpensAtAsc(id).stream()
+                .map(h -> new WeeklyHours.Period(h.getDayOfWeek(), h.getOpensAt(), h.getClosesAt()))
+                .toList();
+        return new WeeklyHours(restaurant.getTimeZone(), periods);
+    }
+
+    /**
+     * Replaces the restaurant's opening hours. The version bump announces the change, and
+     * OpeningHoursScheduler re-plans the restaurant — opening or closing it right away if needed.
+     */
+    public WeeklyHours setOpeningHours(Long id, WeeklyHours hours) {
+        List<WeeklyHours.Period> periods = hours.periods() == null ? List.of() : hours.periods();
+        for (WeeklyHours.Period p : periods) {
+            if (p.day() == null || p.opens() == null || p.closes() == null) {
+                throw new RuntimeException("Every opening period needs day, opens and closes");
+            }
+        }
+        if (hours.timeZone() != null) {
+            try {
+                ZoneId.of(hours.timeZone());
+            } catch (DateTimeException e) {
+                throw new RuntimeException("Unknown time zone: " + hours.timeZone());
+            }
+        }
+
+        Restaurant updated = transactionTemplate.execute(status -> {
+            Restaurant restaurant = getRestaurant(id);
+            restaurant.setTimeZone(hours.timeZone());
+            openingHoursRepository.deleteByRestaurantId(id);
+            for (WeeklyHours.Period p : periods) {
+                openingHoursRepository.save(new OpeningHours(null, id, p.day(), p.opens(), p.closes()));
+            }
+            restaurantRepository.incrementVersions(List.of(id));
+            return restaurant;
+        });
+        restaurantETags.updated(restaurantRepository.findById(id).orElse(updated));
+        return getOpeningHours(id);
+    }
+
     public List<Restaurant> getAllRestaurants() {
         return restaurantRepository.findAll();
     }
 
-    public Restaurant createRestaurant(String name, String address, String phone) {
+    public Restaurant createRestaurant(String name, String address, String phone, Double latitude, Double longitude) {
         Restaurant restaurant = new Restaurant();
         restaurant.setName(name);
         restaurant.setAddress(address);
         restaurant.setPhone(phone);
+        restaurant.setLatitude(latitude);
+        restaurant.setLongitude(longitude);
         restaurant.setOpen(true);
-        return restaurantRepository.save(restaurant);
+        Restaurant saved = restaurantRepository.save(restaurant);
+        restaurantETags.updated(saved);
+        return saved;
     }
 }
@@ -2,6 +2,7 @@ package com.ftgo.restaurant;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * FTGO Restaurant Service — Extracted Microservice
@@ -14,6 +15,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * The monolith no longer has these tables — it calls this service via REST.
  */
 @SpringBootApplication
+@EnableScheduling
 public class RestaurantServiceApplication {
 
     public static void main(String[] args) {
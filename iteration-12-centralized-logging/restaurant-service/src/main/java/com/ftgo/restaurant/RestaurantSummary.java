@@ -0,0 +1,36 @@
+package com.ftgo.restaurant;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Listing view of a restaurant — no menu, just how many items it has.
+ * Selected with a constructor expression (one grouped query, no entities, no menuItems N+1).
+ */
+public record RestaurantSummary(
+    Long id,
+    String name,
+    String address,
+    String phone,
+    boolean open,
+    long version,
+    long menuItemCount
+) {
+    public static final Set<String> FIELDS = Set.of("id", "name", "address", "phone", "open", "version", "menuItemCount");
+
+    /**
+     * Sparse fieldset — only the requested fields, in the record's order.
+     */
+    public Map<String, Object> select(Set<String> fields) {
+        Map<String, Object> selected = new LinkedHashMap<>();
+        if (fields.contains("id")) selected.put("id", id);
+        if (fields.contains("name")) selected.put("name", name);
+        if (fields.contains("address")) selected.put("address", address);
+        if (fields.contains("phone")) selected.put("phone", phone);
+        if (fields.contains("open")) selected.put("open", open);
+        if (fields.contains("version")) selected.put("version", version);
+        if (fields.contains("menuItemCount")) selected.put("menuItemCount", menuItemCount);
+        return selected;
+    }
+}
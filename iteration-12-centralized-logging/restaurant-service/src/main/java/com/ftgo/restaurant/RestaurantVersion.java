@@ -0,0 +1,6 @@
+package com.ftgo.restaurant;
+
+/**
+ * (id, version) projection — all RestaurantETags needs to compute validators.
+ */
+public record RestaurantVersion(Long id, long version) {}
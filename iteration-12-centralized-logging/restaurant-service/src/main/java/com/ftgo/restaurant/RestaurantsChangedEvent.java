@@ -0,0 +1,9 @@
+package com.ftgo.restaurant;
+
+import java.util.Set;
+
+/**
+ * In-process event: these restaurants (or their menus) were created, changed or deleted.
+ * Published by RestaurantETags; listeners reload the ids they care about.
+ */
+public record RestaurantsChangedEvent(Set<Long> restaurantIds) {}
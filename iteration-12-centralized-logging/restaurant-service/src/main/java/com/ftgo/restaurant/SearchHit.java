@@ -0,0 +1,16 @@
+package com.ftgo.restaurant;
+
+/**
+ * One ranked search result — a restaurant, or a menu item with the restaurant it belongs to.
+ */
+public record SearchHit(
+    Type type,
+    Long id,
+    Long restaurantId,
+    String name,
+    String restaurantName,
+    boolean open,
+    double score
+) {
+    public enum Type { RESTAURANT, MENU_ITEM }
+}
@@ -0,0 +1,260 @@
+package com.ftgo.restaurant;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process full-text search over restaurant names, menu item names and descriptions.
+ *
+ * INVERTED INDEX:
+ *   Every document (a restaurant or a menu item) is run through TextAnalyzer, and each term
+ *   points at the documents containing it, with a field-weighted frequency:
+ *
+ *     "chicken" → { item#1 (Butter Chicken): 2.0 + 1.0,  item#3: 2.0,  item#7: 2.0 + 1.0 }
+ *                   restaurant name ×3, item name ×2, description ×1
+ *
+ *   A query is tokenized the same way; every token must match (AND). A document's score is
+ *   the sum over tokens of weight × idf, idf = ln(1 + N / df) — rare words count for more.
+ *   The top {limit} are picked with a bounded heap.
+ *
+ * AUTOCOMPLETE:
+ *   The last query token is treated as a prefix — PrefixTrie expands "chick" to its terms
+ *   (up to MAX_EXPANSIONS, prefix matches scored slightly below exact ones), so results update
+ *   as the user types. /suggest returns the expansions themselves, most common first.
+ *
+ * UPDATES:
+ *   Built from the first RestaurantsChangedEvent after startup (which lists every restaurant)
+ *   and then kept current by later events — a change re-indexes only that restaurant and its
+ *   menu. Readers share a read lock; an update holds the write lock only while swapping postings.
+ *
+ * Everything is in memory: a query is a few map lookups — microseconds, no search engine.
+ */
+@Slf4j
+@Component
+public class SearchIndex {
+
+    private static final float RESTAURANT_NAME_WEIGHT = 3f;
+    private static final float ITEM_NAME_WEIGHT = 2f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+    private static final float PREFIX_MATCH_FACTOR = 0.8f;
+    private static final int MAX_EXPANSIONS = 64;
+
+    private record Doc(SearchHit.Type type, Long id, Long restaurantId, String name, String restaurantName, boolean open) {}
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Map<Long, Float>> postings = new HashMap<>();
+    private final Map<Long, Doc> docs = new HashMap<>();
+    private final Map<Long, Set<String>> termsByDoc = new HashMap<>();
+    private final Map<Long, Set<Long>> docsByRestaurant = new HashMap<>();
+    private final PrefixTrie dictionary = new PrefixTrie();
+
+    @Autowired
+    private RestaurantETags restaurantETags;
+
+    @EventListener
+    public void onRestaurantsChanged(RestaurantsChangedEvent event) {
+        restaurantETags.deliver("Search index", event.restaurantIds(), this::reindex);
+    }
+
+    private void reindex(Set<Long> restaurantIds) {
+        long start = System.nanoTime();
+        // Menu items as projections — an event can cover tens of thousands of rows, which must not
+        // become managed entities (and be dirty-checked) in the caller's persistence context
+        List<Restaurant> restaurants = restaurantRepository.findAllById(restaurantIds);
+        Map<Long, List<MenuItemRow>> items = new HashMap<>();
+        for (MenuItemRow row : menuItemRepository.findRowsByRestaurantIds(restaurantIds)) {
+            items.computeIfAbsent(row.restaurantId(), id -> new ArrayList<>()).add(row);
+        }
+        Set<Long> removed = new HashSet<>(restaurantIds);
+        restaurants.forEach(r -> removed.remove(r.getId()));
+
+        lock.writeLock().lock();
+        try {
+            removed.forEach(this::removeRestaurant);
+            restaurants.forEach(r -> indexRestaurant(r, items.getOrDefault(r.getId(), List.of())));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Search index updated: {} restaurant(s) re-indexed, {} removed, {} docs / {} terms in {} us",
+                restaurants.size(), removed.size(), docs.size(), postings.size(), (System.nanoTime() - start) / 1000);
+    }
+
+    public List<SearchHit> search(String query, int limit) {
+        List<String> tokens = TextAnalyzer.tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (int i = 0; i < tokens.size(); i++) {
+                Map<Long, Double> tokenScores = score(tokens.get(i), i == tokens.size() - 1);
+                scores = scores == null ? tokenScores : intersect(scores, tokenScores);
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            return top(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Completions for the last word typed, most frequent first — e.g. "chi" → [chicken, chole, chinese].
+     */
+    public List<String> suggest(String prefix, int limit) {
+        List<String> tokens = TextAnalyzer.tokenize(prefix);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            List<String> terms = dictionary.complete(tokens.get(tokens.size() - 1), MAX_EXPANSIONS);
+            terms.sort(Comparator.comparingInt((String t) -> postings.get(t).size()).reversed());
+            return terms.size() > limit ? List.copyOf(terms.subList(0, limit)) : terms;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ---- query side (read lock held) ----
+
+    private Map<Long, Double> score(String token, boolean prefix) {
+        Map<Long, Double> scores = new HashMap<>();
+        List<String> terms = prefix ? dictionary.complete(token, MAX_EXPANSIONS) : List.of(token);
+        for (String term : terms) {
+            Map<Long, Float> docsWithTerm = postings.get(term);
+            if (docsWithTerm == null) {
+                continue;
+            }
+            double idf = Math.log(1 + (double) docs.size() / docsWithTerm.size());
+            double factor = term.equals(token) ? 1.0 : PREFIX_MATCH_FACTOR;
+            docsWithTerm.forEach((doc, weight) -> scores.merge(doc, weight * idf * factor, Math::max));
+        }
+        return scores;
+    }
+
+    private static Map<Long, Double> intersect(Map<Long, Double> a, Map<Long, Double> b) {
+        Map<Long, Double> smaller = a.size() <= b.size() ? a : b;
+        Map<Long, Double> larger = smaller == a ? b : a;
+        Map<Long, Double> both = new HashMap<>();
+        smaller.forEach((doc, score) -> {
+            Double other = larger.get(doc);
+            if (other != null) {
+                both.put(doc, score + other);
+            }
+        });
+        return both;
+    }
+
+    private List<SearchHit> top(Map<Long, Double> scores, int limit) {
+        PriorityQueue<Map.Entry<Long, Double>> heap = new PriorityQueue<>(limit + 1, Map.Entry.comparingByValue());
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            heap.offer(entry);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        List<SearchHit> hits = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            Map.Entry<Long, Double> entry = heap.poll();
+            Doc doc = docs.get(entry.getKey());
+            hits.add(new SearchHit(doc.type(), doc.id(), doc.restaurantId(), doc.name(), doc.restaurantName(),
+                    doc.open(), Math.round(entry.getValue() * 1000) / 1000.0));
+        }
+        Collections.reverse(hits);
+        return hits;
+    }
+
+    // ---- update side (write lock held) ----
+
+    private void indexRestaurant(Restaurant restaurant, List<MenuItemRow> menuItems) {
+        removeRestaurant(restaurant.getId());
+        Set<Long> keys = new HashSet<>();
+
+        long restaurantKey = restaurantKey(restaurant.getId());
+        Map<String, Float> weights = new HashMap<>();
+        addField(weights, restaurant.getName(), RESTAURANT_NAME_WEIGHT);
+        addDoc(restaurantKey, new Doc(SearchHit.Type.RESTAURANT, restaurant.getId(), restaurant.getId(),
+                restaurant.getName(), restaurant.getName(), restaurant.isOpen()), weights);
+        keys.add(restaurantKey);
+
+        for (MenuItemRow item : menuItems) {
+            long itemKey = menuItemKey(item.id());
+            weights = new HashMap<>();
+            addField(weights, item.name(), ITEM_NAME_WEIGHT);
+            addField(weights, item.description(), DESCRIPTION_WEIGHT);
+            addDoc(itemKey, new Doc(SearchHit.Type.MENU_ITEM, item.id(), restaurant.getId(),
+                    item.name(), restaurant.getName(), restaurant.isOpen()), weights);
+            keys.add(itemKey);
+        }
+        docsByRestaurant.put(restaurant.getId(), keys);
+    }
+
+    private void removeRestaurant(Long restaurantId) {
+        Set<Long> keys = docsByRestaurant.remove(restaurantId);
+        if (keys == null) {
+            return;
+        }
+        for (Long key : keys) {
+            docs.remove(key);
+            for (String term : termsByDoc.remove(key)) {
+                Map<Long, Float> docsWithTerm = postings.get(term);
+                docsWithTerm.remove(key);
+                if (docsWithTerm.isEmpty()) {
+                    postings.remove(term);
+                    dictionary.remove(term);
+                }
+            }
+        }
+    }
+
+    private void addDoc(long key, Doc doc, Map<String, Float> weights) {
+        docs.put(key, doc);
+        termsByDoc.put(key, weights.keySet());
+        weights.forEach((term, weight) -> {
+            Map<Long, Float> docsWithTerm = postings.get(term);
+            if (docsWithTerm == null) {
+                docsWithTerm = new HashMap<>();
+                postings.put(term, docsWithTerm);
+                dictionary.add(term);
+            }
+            docsWithTerm.put(key, weight);
+        });
+    }
+
+    private static void addField(Map<String, Float> weights, String text, float weight) {
+        for (String term : TextAnalyzer.tokenize(text)) {
+            weights.merge(term, weight, Float::sum);
+        }
+    }
+
+    /** Restaurants and menu items share one key space: even = restaurant, odd = menu item. */
+    private static long restaurantKey(Long id) {
+        return id << 1;
+    }
+
+    private static long menuItemKey(Long id) {
+        return (id << 1) | 1;
+    }
+}
@@ -0,0 +1,55 @@
+package com.ftgo.restaurant;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tokenizer shared by indexing and querying, so both sides agree on what a term is:
+ *
+ *   "Crème Brûlée & Chai-Latte"  →  [creme, brulee, chai, latte]
+ *
+ * Accents are folded (NFD, combining marks dropped), everything is lower-cased, any
+ * non-letter/digit separates tokens, and a handful of filler words are skipped.
+ */
+final class TextAnalyzer {
+
+    private static final Set<String> STOP_WORDS = Set.of("a", "an", "and", "the", "of", "with", "in", "on", "for", "to");
+
+    private TextAnalyzer() {
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                token.append(Character.toLowerCase(c));
+            } else {
+                emit(token, tokens);
+            }
+        }
+        emit(token, tokens);
+        return tokens;
+    }
+
+    private static void emit(StringBuilder token, List<String> tokens) {
+        if (token.isEmpty()) {
+            return;
+        }
+        String term = token.toString();
+        token.setLength(0);
+        if (!STOP_WORDS.contains(term)) {
+            tokens.add(term);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.ftgo.restaurant;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Body of GET/PUT /api/restaurants/{id}/opening-hours.
+ *
+ *   { "timeZone": "Asia/Kolkata",
+ *     "periods": [ { "day": "MONDAY", "opens": "11:00", "closes": "23:00" }, ... ] }
+ *
+ * An empty period list puts the restaurant back under manual open/close control.
+ */
+public record WeeklyHours(String timeZone, List<Period> periods) {
+
+    public record Period(DayOfWeek day, LocalTime opens, LocalTime closes) {}
+}
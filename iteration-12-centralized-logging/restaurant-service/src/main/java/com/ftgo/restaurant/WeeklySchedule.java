@@ -0,0 +1,83 @@
+package com.ftgo.restaurant;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A restaurant's opening hours, evaluated at instants.
+ *
+ * Periods are expanded into concrete [opens, closes) instants for the days around {@code at}
+ * (in the restaurant's zone, so DST shifts are honoured), sorted and merged — back-to-back or
+ * overlapping periods (e.g. FRIDAY 18:00–02:00 + SATURDAY 02:00–04:00) form one open stretch.
+ *
+ *   isOpenAt(t)           → some stretch contains t
+ *   nextTransitionAfter(t) → end of the stretch containing t, else start of the next stretch
+ *
+ * Immutable.
+ */
+final class WeeklySchedule {
+
+    private record Stretch(Instant opens, Instant closes) {}
+
+    private final ZoneId zone;
+    private final List<OpeningHours> periods;
+
+    WeeklySchedule(ZoneId zone, List<OpeningHours> periods) {
+        this.zone = zone;
+        this.periods = List.copyOf(periods);
+    }
+
+    boolean isOpenAt(Instant at) {
+        return stretches(at).stream().anyMatch(s -> !s.opens().isAfter(at) && s.closes().isAfter(at));
+    }
+
+    /**
+     * The next instant at which the open state changes. Always within about a week — for a
+     * restaurant open around the clock it is just the end of the evaluated window (a no-op re-check).
+     */
+    Instant nextTransitionAfter(Instant at) {
+        for (Stretch s : stretches(at)) {
+            if (s.opens().isAfter(at)) {
+                return s.opens();
+            }
+            if (s.closes().isAfter(at)) {
+                return s.closes();
+            }
+        }
+        return null;
+    }
+
+    private List<Stretch> stretches(Instant at) {
+        LocalDate today = at.atZone(zone).toLocalDate();
+        List<Stretch> expanded = new ArrayList<>();
+        for (LocalDate day = today.minusDays(1); !day.isAfter(today.plusDays(7)); day = day.plusDays(1)) {
+            for (OpeningHours p : periods) {
+                if (p.getDayOfWeek() != day.getDayOfWeek()) {
+                    continue;
+                }
+                LocalDate closesOn = p.getClosesAt().isAfter(p.getOpensAt()) ? day : day.plusDays(1);
+                expanded.add(new Stretch(ZonedDateTime.of(day, p.getOpensAt(), zone).toInstant(),
+                        ZonedDateTime.of(closesOn, p.getClosesAt(), zone).toInstant()));
+            }
+        }
+        expanded.sort(Comparator.comparing(Stretch::opens));
+
+        List<Stretch> merged = new ArrayList<>();
+        for (Stretch s : expanded) {
+            Stretch last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && !s.opens().isAfter(last.closes())) {
+                if (s.closes().isAfter(last.closes())) {
+                    merged.set(merged.size() - 1, new Stretch(last.opens(), s.closes()));
+                }
+            } else {
+                merged.add(s);
+            }
+        }
+        return merged;
+    }
+}
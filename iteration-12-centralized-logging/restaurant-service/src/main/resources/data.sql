@@ -5,9 +5,9 @@
 -- =============================================================
 
 -- Restaurants
-INSERT INTO restaurant (id, name, address, phone, is_open) VALUES (1, 'Mumbai Masala', '123 MG Road, Mumbai', '9876543210', true);
-INSERT INTO restaurant (id, name, address, phone, is_open) VALUES (2, 'Delhi Darbar', '456 Connaught Place, Delhi', '9876543211', true);
-INSERT INTO restaurant (id, name, address, phone, is_open) VALUES (3, 'Chennai Spice', '789 Anna Salai, Chennai', '9876543212', false);
+INSERT INTO restaurant (id, name, address, phone, is_open, version, latitude, longitude) VALUES (1, 'Mumbai Masala', '123 MG Road, Mumbai', '9876543210', true, 0, 19.0760, 72.8777);
+INSERT INTO restaurant (id, name, address, phone, is_open, version, latitude, longitude) VALUES (2, 'Delhi Darbar', '456 Connaught Place, Delhi', '9876543211', true, 0, 28.6315, 77.2167);
+INSERT INTO restaurant (id, name, address, phone, is_open, version, latitude, longitude) VALUES (3, 'Chennai Spice', '789 Anna Salai, Chennai', '9876543212', false, 0, 13.0604, 80.2496);
 
 -- Menu Items — Mumbai Masala
 INSERT INTO menu_item (id, restaurant_id, name, description, price) VALUES (1, 1, 'Butter Chicken', 'Creamy tomato-based curry with tender chicken', 350.00);
@@ -26,4 +26,4 @@ INSERT INTO menu_item (id, restaurant_id, name, description, price) VALUES (9, 3
 
 -- Reset auto-increment sequences past the seed data IDs
 ALTER TABLE restaurant ALTER COLUMN id RESTART WITH 100;
-ALTER TABLE menu_item ALTER COLUMN id RESTART WITH 100;
+ALTER SEQUENCE menu_item_seq RESTART WITH 100;